@@ -0,0 +1,44 @@
+package com.example.account.benchmark;
+
+import com.example.account.service.AccountNumberAllocator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 계좌 생성 시 계좌번호 발급 (H2 시퀀스)
+ * blockSize 1 은 발급마다 시퀀스를 읽는 경우와 같다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class AccountNumberAllocatorBenchmark {
+    @Param({"1", "100"})
+    private int blockSize;
+
+    private ConfigurableApplicationContext applicationContext;
+    private AccountNumberAllocator accountNumberAllocator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        applicationContext = BenchmarkContext.start("account-number", 6400,
+                "account.number.block-size=" + blockSize);
+        accountNumberAllocator = applicationContext.getBean(
+                AccountNumberAllocator.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public String next() {
+        return accountNumberAllocator.next();
+    }
+}
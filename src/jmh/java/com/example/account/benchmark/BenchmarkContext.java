@@ -0,0 +1,28 @@
+package com.example.account.benchmark;
+
+import com.example.account.AccountApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 벤치마크용 애플리케이션 컨텍스트 (웹 서버 없이, H2 + embedded Redis)
+ * 벤치마크마다 Redis 포트와 DB 이름을 다르게 줘서 fork 끼리 겹치지 않게 한다.
+ */
+final class BenchmarkContext {
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String name, int redisPort,
+                                                String... properties) {
+        return new SpringApplicationBuilder(AccountApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.data.redis.port=" + redisPort,
+                        "spring.datasource.url=jdbc:h2:mem:" + name,
+                        "spring.jpa.properties.hibernate.show_sql=false",
+                        "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.account.benchmark;
+
+import com.example.account.service.LockService;
+import com.example.account.service.RedissonAccountLockProvider;
+import com.example.account.service.StripedAccountLockProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import redis.embedded.RedisServer;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 계좌 lock 획득/해제 (@AccountLock advice 구간)
+ * redis: embedded Redis + Redisson, local: 단일 노드 striped lock
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class LockServiceBenchmark {
+    private static final int REDIS_PORT = 6399;
+    private static final int ACCOUNTS = 100;
+
+    @Param({"local", "redis"})
+    private String provider;
+
+    private RedisServer redisServer;
+    private RedissonClient redissonClient;
+    private LockService lockService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("redis".equals(provider)) {
+            redisServer = RedisServer.builder()
+                    .port(REDIS_PORT)
+                    .setting("maxmemory 128M")
+                    .build();
+            redisServer.start();
+
+            Config config = new Config();
+            config.useSingleServer().setAddress("redis://127.0.0.1:" + REDIS_PORT);
+            redissonClient = Redisson.create(config);
+            lockService = new LockService(
+                    new RedissonAccountLockProvider(redissonClient),
+                    new SimpleMeterRegistry());
+        } else {
+            lockService = new LockService(new StripedAccountLockProvider(1024),
+                    new SimpleMeterRegistry());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (redissonClient != null) {
+            redissonClient.shutdown();
+            redisServer.stop();
+        }
+    }
+
+    @Benchmark
+    public void lockAndUnlock() {
+        String accountNumber = String.valueOf(1_000_000_000L +
+                ThreadLocalRandom.current().nextInt(ACCOUNTS));
+        Long ownerId = lockService.lock(accountNumber);
+        lockService.unLock(accountNumber, ownerId);
+    }
+}
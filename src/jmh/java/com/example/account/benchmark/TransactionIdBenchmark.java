@@ -0,0 +1,41 @@
+package com.example.account.benchmark;
+
+import com.example.account.service.SnowflakeTransactionIdGenerator;
+import com.example.account.service.UuidTransactionIdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 거래 ID 생성 비교
+ * ./gradlew jmh -PjmhIncludes=TransactionIdBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class TransactionIdBenchmark {
+    private final UuidTransactionIdGenerator uuidGenerator =
+            new UuidTransactionIdGenerator();
+    private final SnowflakeTransactionIdGenerator snowflakeGenerator =
+            new SnowflakeTransactionIdGenerator(1);
+
+    @Benchmark
+    public String legacyUuidReplace() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    @Benchmark
+    public String uuidGenerator() {
+        return uuidGenerator.generate();
+    }
+
+    @Benchmark
+    public String snowflakeGenerator() {
+        return snowflakeGenerator.generate();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.account.benchmark;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.domain.Transaction;
+import com.example.account.dto.QueryTransactionResponse;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.type.AccountStatus;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔티티 → DTO → 응답 변환
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionMappingBenchmark {
+    private Transaction transaction;
+
+    @Setup
+    public void setUp() {
+        Account account = Account.builder()
+                .accountUser(AccountUser.builder().id(1L).name("Pororo").build())
+                .accountNumber("1000000000")
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(10_000L)
+                .build();
+        transaction = Transaction.builder()
+                .transactionType(TransactionType.USE)
+                .transactionResult(TransactionResultType.S)
+                .account(account)
+                .transactionId("0123456789abcdef0123456789abcdef")
+                .amount(1_000L)
+                .balanceSnapshot(9_000L)
+                .transactedAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public UseBalance.Response useBalanceResponse() {
+        return UseBalance.Response.from(TransactionDto.fromEntity(transaction));
+    }
+
+    @Benchmark
+    public QueryTransactionResponse queryTransactionResponse() {
+        return QueryTransactionResponse.from(TransactionDto.fromEntity(transaction));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.account.benchmark;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.service.AccountService;
+import com.example.account.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 잔액 사용/취소 서비스 경로 (H2)
+ * 컨트롤러의 고정 sleep 과 lock 은 빼고 TransactionService 만 측정한다.
+ * 스레드마다 다른 계좌를 써서 낙관적 lock 충돌 없이 DB 경로 비용만 본다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class TransactionServiceBenchmark {
+    private static final long USER_ID = 1L;
+    private static final long AMOUNT = 10L;
+
+    @State(Scope.Benchmark)
+    public static class Context {
+        ConfigurableApplicationContext applicationContext;
+        TransactionService transactionService;
+        List<String> accountNumbers = new ArrayList<>();
+        AtomicInteger nextAccount = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            applicationContext = BenchmarkContext.start("transaction-service", 6398);
+            transactionService = applicationContext.getBean(TransactionService.class);
+            AccountService accountService = applicationContext.getBean(AccountService.class);
+            for (int i = 0; i < 4; i++) {
+                accountNumbers.add(accountService.createAccount(USER_ID,
+                        1_000_000_000_000L).getAccountNumber());
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            applicationContext.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadAccount {
+        String accountNumber;
+
+        @Setup(Level.Trial)
+        public void setUp(Context context) {
+            accountNumber = context.accountNumbers.get(
+                    context.nextAccount.getAndIncrement() % context.accountNumbers.size());
+        }
+    }
+
+    @Benchmark
+    public TransactionDto useBalance(Context context, ThreadAccount account) {
+        return context.transactionService.useBalance(USER_ID,
+                account.accountNumber, AMOUNT);
+    }
+
+    @Benchmark
+    public TransactionDto useAndCancelBalance(Context context,
+                                              ThreadAccount account) {
+        TransactionDto used = context.transactionService.useBalance(USER_ID,
+                account.accountNumber, AMOUNT);
+        return context.transactionService.cancelBalance(used.getTransactionId(),
+                account.accountNumber, AMOUNT);
+    }
+}
@@ -0,0 +1,336 @@
+package com.example.account.loadtest;
+
+import com.example.account.AccountApplication;
+import com.example.account.loadtest.OperationStats.Outcome;
+import com.example.account.repository.AccountRepository;
+import com.example.account.service.AccountService;
+import com.example.account.service.HotAccountPersister;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * HTTP 부하 테스트
+ * 1. AccountApplication 을 임의 포트로 띄우고 사용자/계좌를 만든다
+ * 2. Zipf 분포로 계좌를 골라 잔액 사용/취소, 계좌/거래 조회를 섞어 보낸다
+ * 3. 처리량, 지연시간 분포, lock 거절률을 출력하고
+ *    요청 결과로 계산한 잔액과 DB 잔액/거래 내역이 맞는지 확인한다
+ * ./gradlew loadTest [-Ploadtest.threads=128 -Ploadtest.zipf-exponent=1.3 ...]
+ */
+public class LoadTest {
+    private static final long FIRST_USER_ID = 10_000L;
+    private static final String LOCK_ERROR = "ACCOUNT_TRANSACTION_LOCK";
+
+    private final LoadTestConfig config;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final List<SeededAccount> accounts = new ArrayList<>();
+    private final AtomicReferenceArray<String> recentTransactionIds =
+            new AtomicReferenceArray<>(4096);
+
+    private final OperationStats useStats = new OperationStats("use");
+    private final OperationStats cancelStats = new OperationStats("cancel");
+    private final OperationStats getAccountStats = new OperationStats("getAccount");
+    private final OperationStats getTransactionStats =
+            new OperationStats("getTransaction");
+    private final List<OperationStats> allStats = List.of(useStats, cancelStats,
+            getAccountStats, getTransactionStats);
+
+    private ZipfSampler zipfSampler;
+    private String baseUrl;
+    private volatile boolean running = true;
+
+    LoadTest(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+        System.out.println("[loadtest] " + config);
+
+        ConfigurableApplicationContext context = SpringApplication.run(
+                AccountApplication.class, config.applicationArgs());
+        boolean consistent;
+        try {
+            consistent = new LoadTest(config).run(context);
+        } finally {
+            context.close();
+        }
+        System.exit(consistent ? 0 : 1);
+    }
+
+    boolean run(ConfigurableApplicationContext context) throws Exception {
+        baseUrl = "http://127.0.0.1:" +
+                context.getEnvironment().getProperty("local.server.port");
+        seed(context);
+        zipfSampler = new ZipfSampler(accounts.size(), config.zipfExponent);
+        System.out.printf("[loadtest] top 1%% of accounts get %.1f%% of requests%n",
+                zipfSampler.share(Math.max(1, accounts.size() / 100)) * 100);
+
+        ExecutorService workers = newWorkerPool();
+        for (int i = 0; i < config.threads; i++) {
+            workers.execute(this::work);
+        }
+
+        TimeUnit.SECONDS.sleep(config.warmupSeconds);
+        allStats.forEach(OperationStats::reset);
+        long measureStart = System.nanoTime();
+        TimeUnit.SECONDS.sleep(config.durationSeconds);
+        double elapsedSeconds = (System.nanoTime() - measureStart) / 1e9;
+
+        running = false;
+        workers.shutdown();
+        if (!workers.awaitTermination(2, TimeUnit.MINUTES)) {
+            System.out.println("[loadtest] workers did not finish in time");
+        }
+
+        report(elapsedSeconds);
+        return checkConsistency(context);
+    }
+
+    private ExecutorService newWorkerPool() {
+        if (!config.clientVirtualThreads) {
+            return Executors.newFixedThreadPool(config.threads);
+        }
+        try {
+            // Java 17 로 컴파일하므로 reflection 으로 호출
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads need Java 21", e);
+        }
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < config.accounts; i++) {
+            users.add(new Object[]{FIRST_USER_ID + i, "load" + i});
+        }
+        context.getBean(JdbcTemplate.class).batchUpdate(
+                "insert into account_user(id, name, account_count, " +
+                        "created_at, updated_at) values(?, ?, 0, now(), now())",
+                users);
+
+        AccountService accountService = context.getBean(AccountService.class);
+        for (int i = 0; i < config.accounts; i++) {
+            long userId = FIRST_USER_ID + i;
+            accounts.add(new SeededAccount(userId, accountService.createAccount(
+                    userId, config.initialBalance).getAccountNumber()));
+        }
+        System.out.println("[loadtest] seeded " + accounts.size() + " accounts");
+    }
+
+    private void work() {
+        while (running) {
+            SeededAccount account = accounts.get(zipfSampler.next());
+            int dice = ThreadLocalRandom.current().nextInt(100);
+            if (dice < config.usePercent) {
+                use(account);
+            } else if (dice < config.usePercent + config.cancelPercent) {
+                cancel(account);
+            } else if (dice < config.usePercent + config.cancelPercent +
+                    config.getAccountPercent) {
+                getAccount(account);
+            } else {
+                getTransaction(account);
+            }
+        }
+    }
+
+    private void use(SeededAccount account) {
+        long amount = ThreadLocalRandom.current().nextLong(10, 1_000);
+        long start = System.nanoTime();
+        JsonNode response = post("/transaction/use", Map.of(
+                "userId", account.userId,
+                "accountNumber", account.accountNumber,
+                "amount", amount));
+        Outcome outcome = outcomeOf(response);
+        useStats.record(start, outcome);
+        if (outcome == Outcome.SUCCESS) {
+            String transactionId = response.get("transactionId").asText();
+            account.netUsed.addAndGet(amount);
+            account.cancellable.add(new Used(transactionId, amount));
+            recentTransactionIds.set(ThreadLocalRandom.current()
+                    .nextInt(recentTransactionIds.length()), transactionId);
+        }
+    }
+
+    private void cancel(SeededAccount account) {
+        Used used = account.cancellable.poll();
+        if (used == null) {
+            use(account);
+            return;
+        }
+        long start = System.nanoTime();
+        JsonNode response = post("/transaction/cancel", Map.of(
+                "transactionId", used.transactionId,
+                "accountNumber", account.accountNumber,
+                "amount", used.amount));
+        Outcome outcome = outcomeOf(response);
+        cancelStats.record(start, outcome);
+        if (outcome == Outcome.SUCCESS) {
+            account.netUsed.addAndGet(-used.amount);
+        } else if (outcome == Outcome.LOCK_REJECTED) {
+            account.cancellable.add(used);
+        }
+    }
+
+    private void getAccount(SeededAccount account) {
+        long start = System.nanoTime();
+        JsonNode response = get("/account?user_id=" + account.userId);
+        getAccountStats.record(start, response != null && response.isArray()
+                ? Outcome.SUCCESS : Outcome.FAILED);
+    }
+
+    private void getTransaction(SeededAccount account) {
+        String transactionId = recentTransactionIds.get(ThreadLocalRandom.current()
+                .nextInt(recentTransactionIds.length()));
+        if (transactionId == null) {
+            getAccount(account);
+            return;
+        }
+        long start = System.nanoTime();
+        getTransactionStats.record(start,
+                outcomeOf(get("/transaction/" + transactionId)));
+    }
+
+    private JsonNode post(String path, Map<String, Object> body) {
+        try {
+            return send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            objectMapper.writeValueAsString(body)))
+                    .build());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private JsonNode get(String path) {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .GET().build());
+    }
+
+    private JsonNode send(HttpRequest request) {
+        try {
+            HttpResponse<String> response = httpClient.send(request,
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return null;
+            }
+            return objectMapper.readTree(response.body());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 오류도 200 + ErrorResponse 로 오므로 errorCode 로 구분한다.
+     */
+    private static Outcome outcomeOf(JsonNode response) {
+        if (response == null) {
+            return Outcome.FAILED;
+        }
+        JsonNode errorCode = response.get("errorCode");
+        if (errorCode == null || errorCode.isNull()) {
+            return Outcome.SUCCESS;
+        }
+        return LOCK_ERROR.equals(errorCode.asText())
+                ? Outcome.LOCK_REJECTED : Outcome.FAILED;
+    }
+
+    private void report(double elapsedSeconds) throws Exception {
+        long total = allStats.stream().mapToLong(OperationStats::total).sum();
+        System.out.printf("[loadtest] %.1fs, %d requests, %.1f req/s%n",
+                elapsedSeconds, total, total / elapsedSeconds);
+        Path output = Path.of(System.getProperty("loadtest.output-dir",
+                "build/loadtest"));
+        for (OperationStats stats : allStats) {
+            System.out.println("[loadtest] " + stats.summary(elapsedSeconds));
+            stats.writePercentiles(output);
+        }
+        System.out.println("[loadtest] latency distributions : " +
+                output.toAbsolutePath());
+    }
+
+    /**
+     * 1. DB 잔액 = 초기 잔액 - (성공 응답 받은 사용 - 취소)
+     * 2. DB 잔액 = 초기 잔액 - 성공 거래 내역 합계
+     */
+    private boolean checkConsistency(ConfigurableApplicationContext context) {
+        // 핫 계좌는 Redis 원장에서 DB 로 아직 안 옮겨진 건이 있을 수 있다
+        context.getBean(HotAccountPersister.class).flush();
+
+        AccountRepository accountRepository = context.getBean(AccountRepository.class);
+        Map<String, Long> ledger = new HashMap<>();
+        context.getBean(JdbcTemplate.class).query(
+                "select a.account_number, sum(case when t.transaction_type = 'USE' " +
+                        "then t.amount else -t.amount end) " +
+                        "from transaction t join account a on t.account_id = a.id " +
+                        "where t.transaction_result = 'S' " +
+                        "group by a.account_number",
+                rs -> {
+                    ledger.put(rs.getString(1), rs.getLong(2));
+                });
+
+        int mismatches = 0;
+        for (SeededAccount account : accounts) {
+            long balance = accountRepository.findByAccountNumber(
+                    account.accountNumber).orElseThrow().getBalance();
+            long expected = config.initialBalance - account.netUsed.get();
+            long fromLedger = config.initialBalance -
+                    ledger.getOrDefault(account.accountNumber, 0L);
+            if (balance != expected || balance != fromLedger) {
+                mismatches++;
+                System.out.printf("[loadtest] MISMATCH %s balance=%d " +
+                                "expected=%d ledger=%d%n", account.accountNumber,
+                        balance, expected, fromLedger);
+            }
+        }
+        System.out.println("[loadtest] consistency check : " +
+                (mismatches == 0 ? "OK" : mismatches + " accounts mismatched"));
+        return mismatches == 0;
+    }
+
+    private static class SeededAccount {
+        private final long userId;
+        private final String accountNumber;
+        private final AtomicLong netUsed = new AtomicLong();
+        private final Queue<Used> cancellable = new ConcurrentLinkedQueue<>();
+
+        SeededAccount(long userId, String accountNumber) {
+            this.userId = userId;
+            this.accountNumber = accountNumber;
+        }
+    }
+
+    private record Used(String transactionId, long amount) {
+    }
+}
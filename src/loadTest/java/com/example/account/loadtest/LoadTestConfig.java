@@ -0,0 +1,76 @@
+package com.example.account.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * 부하 테스트 설정 (system property, ./gradlew loadTest -Ploadtest.threads=128)
+ * loadtest.app.* 는 앱 설정으로 그대로 넘긴다.
+ * 예) -Ploadtest.app.account.concurrency.use=ATOMIC
+ */
+class LoadTestConfig {
+    private static final String PREFIX = "loadtest.";
+    private static final String APP_PREFIX = PREFIX + "app.";
+
+    final int threads = intProperty("threads", 64);
+    final int durationSeconds = intProperty("duration-seconds", 30);
+    final int warmupSeconds = intProperty("warmup-seconds", 5);
+    final int accounts = intProperty("accounts", 1000);
+    final double zipfExponent = doubleProperty("zipf-exponent", 1.1);
+    final long initialBalance = longProperty("initial-balance", 100_000_000L);
+    final long useDelayMs = longProperty("use-delay-ms", 0L);
+    final int redisPort = intProperty("redis-port", 6401);
+    // 수천 개 이상 동시 요청은 클라이언트도 가상 스레드로 (Java 21 이상)
+    final boolean clientVirtualThreads = Boolean.parseBoolean(
+            System.getProperty(PREFIX + "client-virtual-threads", "false"));
+
+    // 요청 비율 (합이 100)
+    final int usePercent = intProperty("mix.use", 60);
+    final int cancelPercent = intProperty("mix.cancel", 15);
+    final int getAccountPercent = intProperty("mix.get-account", 15);
+
+    String[] applicationArgs() {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.data.redis.port=" + redisPort,
+                "--spring.datasource.url=jdbc:h2:mem:load-test",
+                "--spring.jpa.properties.hibernate.show_sql=false",
+                "--logging.level.root=WARN",
+                "--account.transaction.use-delay-ms=" + useDelayMs));
+        Properties properties = System.getProperties();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(APP_PREFIX)) {
+                args.add("--" + name.substring(APP_PREFIX.length()) + "=" +
+                        properties.getProperty(name));
+            }
+        }
+        return args.toArray(new String[0]);
+    }
+
+    @Override
+    public String toString() {
+        return "threads=" + threads + " duration=" + durationSeconds + "s" +
+                " warmup=" + warmupSeconds + "s accounts=" + accounts +
+                " zipf=" + zipfExponent + " useDelayMs=" + useDelayMs +
+                " clientVirtualThreads=" + clientVirtualThreads +
+                " mix(use/cancel/getAccount/getTransaction)=" + usePercent +
+                "/" + cancelPercent + "/" + getAccountPercent + "/" +
+                (100 - usePercent - cancelPercent - getAccountPercent);
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty(PREFIX + name,
+                String.valueOf(defaultValue)));
+    }
+
+    private static long longProperty(String name, long defaultValue) {
+        return Long.parseLong(System.getProperty(PREFIX + name,
+                String.valueOf(defaultValue)));
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        return Double.parseDouble(System.getProperty(PREFIX + name,
+                String.valueOf(defaultValue)));
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.account.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청 종류별 지연시간(us) 히스토그램과 결과 건수
+ */
+class OperationStats {
+    private static final long MAX_LATENCY_US = TimeUnit.MINUTES.toMicros(1);
+
+    final String name;
+    private final Histogram histogram = new ConcurrentHistogram(MAX_LATENCY_US, 3);
+    private final LongAdder success = new LongAdder();
+    private final LongAdder lockRejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    OperationStats(String name) {
+        this.name = name;
+    }
+
+    void record(long startNanos, Outcome outcome) {
+        histogram.recordValue(Math.min(MAX_LATENCY_US,
+                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos)));
+        switch (outcome) {
+            case SUCCESS -> success.increment();
+            case LOCK_REJECTED -> lockRejected.increment();
+            default -> failed.increment();
+        }
+    }
+
+    void reset() {
+        histogram.reset();
+        success.reset();
+        lockRejected.reset();
+        failed.reset();
+    }
+
+    long total() {
+        return histogram.getTotalCount();
+    }
+
+    String summary(double elapsedSeconds) {
+        long total = total();
+        return String.format("%-16s total=%8d  %9.1f req/s  success=%8d  " +
+                        "lockRejected=%7d (%5.2f%%)  failed=%6d  " +
+                        "p50=%6dus  p90=%6dus  p99=%7dus  p99.9=%7dus  max=%8dus",
+                name, total, total / elapsedSeconds, success.sum(),
+                lockRejected.sum(),
+                total == 0 ? 0.0 : lockRejected.sum() * 100.0 / total,
+                failed.sum(),
+                histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(90),
+                histogram.getValueAtPercentile(99),
+                histogram.getValueAtPercentile(99.9),
+                histogram.getMaxValue());
+    }
+
+    /**
+     * HdrHistogram plotter 에서 볼 수 있는 .hgrm 파일
+     */
+    void writePercentiles(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        try (PrintStream out = new PrintStream(new FileOutputStream(
+                directory.resolve(name + ".hgrm").toFile()))) {
+            histogram.outputPercentileDistribution(out, 1.0);
+        }
+    }
+
+    enum Outcome {
+        SUCCESS, LOCK_REJECTED, FAILED
+    }
+}
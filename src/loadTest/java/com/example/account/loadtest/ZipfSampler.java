@@ -0,0 +1,37 @@
+package com.example.account.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Zipf 분포 표본 (0 이 가장 자주 나옴)
+ * 누적 분포를 미리 만들어 두고 이진 탐색한다.
+ */
+class ZipfSampler {
+    private final double[] cumulative;
+
+    ZipfSampler(int size, double exponent) {
+        cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 1; rank <= size; rank++) {
+            sum += 1.0 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    int next() {
+        int index = Arrays.binarySearch(cumulative,
+                ThreadLocalRandom.current().nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+
+    /**
+     * 상위 rank 개가 차지하는 비율
+     */
+    double share(int rank) {
+        return cumulative[Math.min(rank, cumulative.length) - 1];
+    }
+}
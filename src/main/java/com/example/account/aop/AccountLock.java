@@ -7,5 +7,11 @@ import java.lang.annotation.*;
 @Documented
 @Inherited
 public @interface AccountLock {
-    long tryLockTime() default 5000L; // lock 최대 대기 시간
+    long tryLockTime() default 5000L; // lock 최대 대기 시간 (ms)
+
+    long leaseTime() default 15000L; // lock 자동 해제 시간 (ms), -1 이면 해제할 때까지 자동 연장 (watchdog)
+
+    boolean failFast() default false; // true 면 기다리지 않고 바로 실패
+
+    String endpoint() default ""; // 동시성 모드/lock 설정 키 (account.lock.endpoint.{endpoint}.*)
 }
@@ -0,0 +1,11 @@
+package com.example.account.aop;
+
+import java.lang.annotation.*;
+
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface Idempotent {
+    String endpoint(); // 멱등 키 범위 (같은 키라도 endpoint 가 다르면 다른 요청)
+}
@@ -1,16 +1,19 @@
 package com.example.account.controller;
 
-import com.example.account.domain.Account;
+import com.example.account.dto.AccountDetail;
 import com.example.account.dto.AccountInfo;
 import com.example.account.dto.CreateAccount;
 import com.example.account.dto.DeleteAccount;
+import com.example.account.dto.QueryAccounts;
 import com.example.account.service.AccountService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequiredArgsConstructor
@@ -43,17 +46,33 @@ public class AccountController {
     public List<AccountInfo> getAccountsByUserId(
             @RequestParam("user_id") Long userId
     ) {
-        return accountService.getAccountsByUserId(userId)
-                .stream().map(dto -> AccountInfo.builder()
-                        .accountNumber(dto.getAccountNumber())
-                        .balance(dto.getBalance()).build())
-                .collect(Collectors.toList());
+        return accountService.getAccountsByUserId(userId);
     }
 
-    @GetMapping("/account/{id}")
-    public Account getAccount(@PathVariable("id") Long id) {
-        return accountService.getAccount(id);
+    @PostMapping("/account/query")
+    public QueryAccounts.Response queryAccounts(
+            @RequestBody @Valid QueryAccounts.Request request
+    ) {
+        return QueryAccounts.Response.from(
+                accountService.getAccountsByUserIds(request.getUserIds()));
     }
 
+    /**
+     * If-None-Match 가 있으면 version 만 읽어 비교하고, 같으면 본문 없이 304
+     */
+    @GetMapping("/account/{id}")
+    public ResponseEntity<AccountDetail> getAccount(
+            @PathVariable("id") Long id, WebRequest webRequest
+    ) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null &&
+                webRequest.checkNotModified(AccountDetail.etagOf(
+                        accountService.getAccountVersion(id)))) {
+            return null;
+        }
 
+        AccountDetail accountDetail = accountService.getAccount(id);
+        return ResponseEntity.ok()
+                .eTag(accountDetail.getETag())
+                .body(accountDetail);
+    }
 }
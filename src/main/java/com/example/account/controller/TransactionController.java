@@ -1,43 +1,122 @@
 package com.example.account.controller;
 
 import com.example.account.aop.AccountLock;
+import com.example.account.aop.Idempotent;
 import com.example.account.dto.CancelBalance;
 import com.example.account.dto.QueryTransactionResponse;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionHistory;
+import com.example.account.dto.Transfer;
 import com.example.account.dto.UseBalance;
+import com.example.account.dto.UseBalanceBatch;
 import com.example.account.exception.AccountException;
+import com.example.account.service.AccountTaskExecutor;
+import com.example.account.service.ConcurrencyModeResolver;
+import com.example.account.service.FailedTransactionRecorder;
+import com.example.account.service.HotAccountLedger;
+import com.example.account.service.OptimisticTransactionService;
+import com.example.account.service.TransactionBatchService;
+import com.example.account.service.TransactionExportService;
 import com.example.account.service.TransactionService;
+import com.example.account.service.TransferService;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.account.service.ConcurrencyModeResolver.CANCEL;
+import static com.example.account.service.ConcurrencyModeResolver.USE;
 
 /**
  * 잔액 관련 컨트롤러
  * 1. 잔액 사용
  * 2. 잔액 사용 취소
  * 3. 거래 확인
+ * 4. 잔액 사용 batch
+ * 5. 계좌 거래 내역 조회
+ * 6. 거래 내보내기 (NDJSON)
+ * 7. 계좌 이체
  */
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 public class TransactionController {
     private final TransactionService transactionService;
+    private final OptimisticTransactionService optimisticTransactionService;
+    private final ConcurrencyModeResolver concurrencyModeResolver;
+    private final HotAccountLedger hotAccountLedger;
+    private final TransactionBatchService transactionBatchService;
+    private final FailedTransactionRecorder failedTransactionRecorder;
+    private final TransactionExportService transactionExportService;
+    private final AccountTaskExecutor accountTaskExecutor;
+    private final TransferService transferService;
+
+    @Value("${account.transaction.use-delay-ms:5000}")
+    private long useDelayMs;
 
+    @Value("${account.transaction.export-timeout-ms:600000}")
+    private long exportTimeoutMs;
+
+    /**
+     * lock 대기와 처리 지연 동안 요청 스레드를 잡지 않는다.
+     * 잔액 처리는 lock 을 잡은 뒤 accountTaskExecutor 에서 한다.
+     * Idempotency-Key 헤더로 재시도하면 처음 응답을 그대로 돌려준다.
+     */
     @PostMapping("/transaction/use")
-    @AccountLock
-    public UseBalance.Response useBalance(
+    @Idempotent(endpoint = USE)
+    @AccountLock(endpoint = USE, tryLockTime = 1000L, leaseTime = -1L)
+    public CompletableFuture<UseBalance.Response> useBalance(
             @Valid @RequestBody UseBalance.Request request
-    ) throws InterruptedException {
+    ) {
+        return CompletableFuture.supplyAsync(() -> executeUseBalance(request),
+                        CompletableFuture.delayedExecutor(useDelayMs,
+                                TimeUnit.MILLISECONDS, accountTaskExecutor))
+                .thenApply(UseBalance.Response::from)
+                .whenComplete((response, e) -> {
+                    if (e != null && e.getCause() instanceof AccountException) {
+                        log.error("Failed to use balance.");
+
+                        failedTransactionRecorder.recordUse(
+                                request.getAccountNumber(),
+                                request.getAmount()
+                        );
+                    }
+                });
+    }
+
+    @PostMapping("/transaction/use/batch")
+    public UseBalanceBatch.Response useBalanceBatch(
+            @Valid @RequestBody UseBalanceBatch.Request request
+    ) {
+        return UseBalanceBatch.Response.from(
+                transactionBatchService.useBalanceBatch(request.getRequests()));
+    }
+
+    @PostMapping("/transaction/transfer")
+    public Transfer.Response transfer(
+            @Valid @RequestBody Transfer.Request request
+    ) {
         try {
-            Thread.sleep(5000L);
-            return UseBalance.Response.from(transactionService.useBalance(
-                    request.getUserId(), request.getAccountNumber(),
-                    request.getAmount()));
+            return Transfer.Response.from(transferService.transfer(
+                    request.getUserId(), request.getFromAccountNumber(),
+                    request.getToAccountNumber(), request.getAmount()),
+                    request.getToAccountNumber());
         } catch (AccountException e) {
-            log.error("Failed to use balance.");
+            log.error("Failed to transfer.");
 
-            transactionService.saveFailedUseTransaction(
-                    request.getAccountNumber(),
+            failedTransactionRecorder.recordTransfer(
+                    request.getFromAccountNumber(),
                     request.getAmount()
             );
 
@@ -46,24 +125,60 @@ public class TransactionController {
     }
 
     @PostMapping("/transaction/cancel")
-    @AccountLock
-    public CancelBalance.Response cancelBalance(
+    @Idempotent(endpoint = CANCEL)
+    @AccountLock(endpoint = CANCEL, tryLockTime = 1000L, leaseTime = 15000L)
+    public CompletableFuture<CancelBalance.Response> cancelBalance(
             @Valid @RequestBody CancelBalance.Request request
     ) {
-        try {
-            return CancelBalance.Response.from(transactionService.cancelBalance(
-                    request.getTransactionId(), request.getAccountNumber(),
-                    request.getAmount()));
-        } catch (AccountException e) {
-            log.error("Failed to use balance.");
+        return CompletableFuture.supplyAsync(() -> executeCancelBalance(request),
+                        accountTaskExecutor)
+                .thenApply(CancelBalance.Response::from)
+                .whenComplete((response, e) -> {
+                    if (e != null && e.getCause() instanceof AccountException) {
+                        log.error("Failed to use balance.");
 
-            transactionService.saveFailedCancelTransaction(
-                    request.getAccountNumber(),
-                    request.getAmount()
-            );
+                        failedTransactionRecorder.recordCancel(
+                                request.getAccountNumber(),
+                                request.getAmount()
+                        );
+                    }
+                });
+    }
 
-            throw e;
-        }
+    private TransactionDto executeUseBalance(UseBalance.Request request) {
+        return switch (concurrencyModeResolver.modeOf(USE,
+                request.getAccountNumber())) {
+            case OPTIMISTIC -> optimisticTransactionService.useBalance(
+                    request.getUserId(), request.getAccountNumber(),
+                    request.getAmount());
+            case ATOMIC -> transactionService.useBalanceAtomic(
+                    request.getUserId(), request.getAccountNumber(),
+                    request.getAmount());
+            case HOT -> hotAccountLedger.useBalance(
+                    request.getUserId(), request.getAccountNumber(),
+                    request.getAmount());
+            default -> transactionService.useBalance(
+                    request.getUserId(), request.getAccountNumber(),
+                    request.getAmount());
+        };
+    }
+
+    private TransactionDto executeCancelBalance(CancelBalance.Request request) {
+        return switch (concurrencyModeResolver.modeOf(CANCEL,
+                request.getAccountNumber())) {
+            case OPTIMISTIC -> optimisticTransactionService.cancelBalance(
+                    request.getTransactionId(), request.getAccountNumber(),
+                    request.getAmount());
+            case ATOMIC -> transactionService.cancelBalanceAtomic(
+                    request.getTransactionId(), request.getAccountNumber(),
+                    request.getAmount());
+            case HOT -> hotAccountLedger.cancelBalance(
+                    request.getTransactionId(), request.getAccountNumber(),
+                    request.getAmount());
+            default -> transactionService.cancelBalance(
+                    request.getTransactionId(), request.getAccountNumber(),
+                    request.getAmount());
+        };
     }
 
     @GetMapping("transaction/{transactionId}")
@@ -72,4 +187,44 @@ public class TransactionController {
         return QueryTransactionResponse.from(
                 transactionService.queryTransaction(transactionId));
     }
+
+    @GetMapping("/account/{accountNumber}/transactions")
+    public TransactionHistory.Response getTransactionHistory(
+            @PathVariable("accountNumber") String accountNumber,
+            @RequestParam(value = "transaction_type", required = false)
+            TransactionType transactionType,
+            @RequestParam(value = "transaction_result", required = false)
+            TransactionResultType transactionResult,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        return transactionService.getTransactionHistory(accountNumber,
+                transactionType, transactionResult, from, to, cursor, size);
+    }
+
+    /**
+     * 오래 걸리는 요청이라 이 요청에만 async 타임아웃(account.transaction.export-timeout-ms)을 준다.
+     * 다른 async 요청은 기본 타임아웃을 그대로 쓴다.
+     */
+    @GetMapping("/transaction/export")
+    public WebAsyncTask<Void> exportTransactions(
+            @RequestParam("from")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+            HttpServletResponse response) {
+        String fileName = "transactions.ndjson" + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : "application/x-ndjson");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + fileName + "\"");
+        return new WebAsyncTask<>(exportTimeoutMs, () -> {
+            transactionExportService.export(from, to, gzip,
+                    response.getOutputStream());
+            return null;
+        });
+    }
 }
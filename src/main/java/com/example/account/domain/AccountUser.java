@@ -1,10 +1,12 @@
 package com.example.account.domain;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -25,6 +27,11 @@ public class AccountUser {
 
     private String name;
 
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer accountCount = 0; // 생성한 계좌 수 (해지 포함), 한도 검사용
+
     @CreatedDate
     private LocalDateTime createdAt;
     @LastModifiedDate
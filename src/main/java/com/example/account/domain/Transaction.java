@@ -17,6 +17,12 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Builder
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_transaction_transaction_id",
+                columnList = "transaction_id", unique = true),
+        @Index(name = "idx_transaction_account_transacted_at",
+                columnList = "account_id, transacted_at, id")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class Transaction {
     @Id
@@ -29,11 +35,12 @@ public class Transaction {
     @Enumerated(EnumType.STRING)
     private TransactionResultType transactionResult;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Account account;
     private String transactionId;
     private Long amount;
     private Long balanceSnapshot; // 거래 후 잔액
+    private String linkedTransactionId; // 이체 상대편 거래
 
     private LocalDateTime transactedAt;
 
@@ -0,0 +1,39 @@
+package com.example.account.dto;
+
+import com.example.account.type.AccountStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 계좌 단건 조회 응답 (JPQL 생성자 projection)
+ * ETag 는 Account.version 으로 만든다 - 잔액/상태가 바뀔 때마다 올라간다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountDetail {
+    private Long id;
+    private Long userId;
+    private String accountNumber;
+    private AccountStatus accountStatus;
+    private Long balance;
+    private LocalDateTime registeredAt;
+    private LocalDateTime unRegisteredAt;
+    private LocalDateTime updatedAt;
+
+    @JsonIgnore
+    private Long version;
+
+    @JsonIgnore
+    public String getETag() {
+        return etagOf(version);
+    }
+
+    public static String etagOf(Long version) {
+        return "\"" + version + "\"";
+    }
+}
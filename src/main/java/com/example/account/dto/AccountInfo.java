@@ -1,7 +1,12 @@
 package com.example.account.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
+/**
+ * 계좌 목록 한 건 (JPQL 생성자 projection)
+ * Account 엔티티를 올리지 않고 계좌번호/잔액만 읽는다.
+ */
 @Getter
 @Setter
 @AllArgsConstructor
@@ -10,4 +15,11 @@ import lombok.*;
 public class AccountInfo {
     private String accountNumber;
     private Long balance;
+
+    @JsonIgnore
+    private Long userId; // 여러 사용자 조회 시 묶음용
+
+    public AccountInfo(String accountNumber, Long balance) {
+        this(accountNumber, balance, null);
+    }
 }
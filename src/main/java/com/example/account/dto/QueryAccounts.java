@@ -0,0 +1,49 @@
+package com.example.account.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class QueryAccounts {
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Request {
+        @NotEmpty
+        @Size(max = 100)
+        private List<@NotNull Long> userIds;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private List<UserAccounts> users;
+
+        public static Response from(Map<Long, List<AccountInfo>> accounts) {
+            return Response.builder()
+                    .users(accounts.entrySet().stream()
+                            .map(entry -> new UserAccounts(entry.getKey(),
+                                    entry.getValue()))
+                            .collect(Collectors.toList()))
+                    .build();
+        }
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UserAccounts {
+        private Long userId;
+        private List<AccountInfo> accounts;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.account.dto;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import lombok.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+public class TransactionHistory {
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private List<TransactionSummary> transactions;
+        private String nextCursor; // 마지막 페이지면 null
+    }
+
+    /**
+     * 마지막으로 본 거래의 (transactedAt, id) 위치
+     * 클라이언트에는 base64url 문자열로만 노출한다.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Cursor {
+        private LocalDateTime transactedAt;
+        private Long id;
+
+        public static Cursor from(TransactionSummary summary) {
+            return new Cursor(summary.getTransactedAt(), summary.getId());
+        }
+
+        public String encode() {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    (transactedAt + "_" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static Cursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor),
+                        StandardCharsets.UTF_8).split("_");
+                return new Cursor(LocalDateTime.parse(parts[0]),
+                        Long.parseLong(parts[1]));
+            } catch (RuntimeException e) {
+                throw new AccountException(ErrorCode.INVALID_REQUEST);
+            }
+        }
+    }
+}
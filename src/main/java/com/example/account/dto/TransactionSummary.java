@@ -0,0 +1,26 @@
+package com.example.account.dto;
+
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 거래 내역 한 건 (JPQL 생성자 projection)
+ * 엔티티/연관 계좌를 올리지 않고 필요한 컬럼만 읽는다.
+ */
+@Getter
+@AllArgsConstructor
+public class TransactionSummary {
+    @JsonIgnore
+    private Long id; // 커서용
+    private String transactionId;
+    private TransactionType transactionType;
+    private TransactionResultType transactionResult;
+    private Long amount;
+    private Long balanceSnapshot;
+    private LocalDateTime transactedAt;
+}
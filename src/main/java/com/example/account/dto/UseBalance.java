@@ -1,6 +1,7 @@
 package com.example.account.dto;
 
 import com.example.account.aop.AccountLockIdInterface;
+import com.example.account.aop.AccountUserIdInterface;
 import com.example.account.type.TransactionResultType;
 import jakarta.validation.constraints.*;
 import lombok.*;
@@ -12,7 +13,8 @@ public class UseBalance {
     @Setter
     @AllArgsConstructor
     @NoArgsConstructor
-    public static class Request implements AccountLockIdInterface {
+    public static class Request implements AccountLockIdInterface,
+            AccountUserIdInterface {
         @NotNull
         @Min(1)
         private Long userId;
@@ -1,20 +1,89 @@
 package com.example.account.repository;
 
 import com.example.account.domain.Account;
-import com.example.account.domain.AccountUser;
+import com.example.account.dto.AccountDetail;
+import com.example.account.dto.AccountInfo;
+import com.example.account.type.AccountStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
-    Optional<Account> findFirstByOrderByIdDesc();
+    @Query(value = "select next value for account_number_seq",
+            nativeQuery = true)
+    Long nextAccountNumberBlock();
 
-    Integer countByAccountUser(AccountUser accountUser);
+    // 한 번에 여러 블록 예약 (행마다 시퀀스가 증가)
+    @Query(value = "select next value for account_number_seq " +
+            "from system_range(1, :count)", nativeQuery = true)
+    List<Long> nextAccountNumberBlocks(@Param("count") long count);
+
+    @Query(value = "select max(account_number) from account", nativeQuery = true)
+    String findMaxAccountNumber();
 
     Optional<Account> findByAccountNumber(String accountNumber);
 
-    List<Account> findByAccountUser(AccountUser accountUser);
+    @Query("select new com.example.account.dto.AccountDetail(" +
+            "a.id, a.accountUser.id, a.accountNumber, a.accountStatus, " +
+            "a.balance, a.registeredAt, a.unRegisteredAt, a.updatedAt, " +
+            "a.version) from Account a where a.id = :id")
+    Optional<AccountDetail> findDetailById(@Param("id") Long id);
+
+    /**
+     * 조건부 조회(If-None-Match)용 - version 컬럼만 읽는다.
+     */
+    @Query("select a.version from Account a where a.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * 계좌 목록 - 엔티티 없이 계좌번호/잔액만 (FK 로 바로 조회, account_user join 없음)
+     */
+    @Query("select new com.example.account.dto.AccountInfo(" +
+            "a.accountNumber, a.balance) " +
+            "from Account a where a.accountUser.id = :userId order by a.id")
+    List<AccountInfo> findAccountInfosByUserId(@Param("userId") Long userId);
+
+    /**
+     * 여러 사용자 계좌 목록 (IN 쿼리 1번)
+     */
+    @Query("select new com.example.account.dto.AccountInfo(" +
+            "a.accountNumber, a.balance, a.accountUser.id) " +
+            "from Account a where a.accountUser.id in :userIds " +
+            "order by a.accountUser.id, a.id")
+    List<AccountInfo> findAccountInfosByUserIdIn(
+            @Param("userIds") Collection<Long> userIds);
+
+    List<Account> findByAccountNumberIn(Collection<String> accountNumbers);
+
+    /**
+     * 소유주, 상태, 잔액 조건을 만족할 때만 차감 (0 이면 실패)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Account a set a.balance = a.balance - :amount, " +
+            "a.version = a.version + 1, a.updatedAt = :now " +
+            "where a.accountNumber = :accountNumber " +
+            "and a.accountUser.id = :userId " +
+            "and a.accountStatus = :status " +
+            "and a.balance >= :amount")
+    int debitBalance(@Param("accountNumber") String accountNumber,
+                     @Param("userId") Long userId,
+                     @Param("status") AccountStatus status,
+                     @Param("amount") Long amount,
+                     @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Account a set a.balance = a.balance + :amount, " +
+            "a.version = a.version + 1, a.updatedAt = :now " +
+            "where a.accountNumber = :accountNumber")
+    int creditBalance(@Param("accountNumber") String accountNumber,
+                      @Param("amount") Long amount,
+                      @Param("now") LocalDateTime now);
 }
@@ -2,8 +2,19 @@ package com.example.account.repository;
 
 import com.example.account.domain.AccountUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface AccountUserRepository extends JpaRepository<AccountUser, Long> {
+    /**
+     * 계좌 수가 limit 미만일 때만 1 증가 (0 이면 사용자가 없거나 한도 초과)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update AccountUser u set u.accountCount = u.accountCount + 1 " +
+            "where u.id = :userId and u.accountCount < :limit")
+    int incrementAccountCount(@Param("userId") Long userId,
+                              @Param("limit") int limit);
 }
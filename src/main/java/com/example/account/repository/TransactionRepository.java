@@ -1,13 +1,91 @@
 package com.example.account.repository;
 
 import com.example.account.domain.Transaction;
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionSummary;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction,
         Long> {
     Optional<Transaction> findByTransactionId(String transactionId);
+
+    /**
+     * 계좌번호까지 쓰는 경로용 - 계좌를 같은 select 에서 join 으로 읽는다.
+     */
+    @EntityGraph(attributePaths = "account")
+    Optional<Transaction> findWithAccountByTransactionId(String transactionId);
+
+    /**
+     * 거래 조회 - 엔티티 없이 TransactionDto 로 바로 읽는다 (select 1번).
+     */
+    @Query("select new com.example.account.dto.TransactionDto(" +
+            "a.accountNumber, t.transactionType, t.transactionResult, " +
+            "t.transactionId, t.amount, t.balanceSnapshot, t.transactedAt) " +
+            "from Transaction t join t.account a " +
+            "where t.transactionId = :transactionId")
+    Optional<TransactionDto> findDtoByTransactionId(
+            @Param("transactionId") String transactionId);
+
+    @Query("select t.transactionId from Transaction t " +
+            "where t.transactionId in :transactionIds")
+    Set<String> findTransactionIdsIn(
+            @Param("transactionIds") Collection<String> transactionIds);
+
+    /**
+     * 계좌 거래 내역 keyset 페이지 (최신순)
+     * (account_id, transacted_at, id) 인덱스를 커서 위치부터 거꾸로 읽으므로
+     * 몇 번째 페이지든 비용이 같다.
+     */
+    @Query("select new com.example.account.dto.TransactionSummary(" +
+            "t.id, t.transactionId, t.transactionType, t.transactionResult, " +
+            "t.amount, t.balanceSnapshot, t.transactedAt) " +
+            "from Transaction t " +
+            "where t.account.id = :accountId " +
+            "and (:transactionType is null or t.transactionType = :transactionType) " +
+            "and (:transactionResult is null or t.transactionResult = :transactionResult) " +
+            "and t.transactedAt >= :from " +
+            "and (t.transactedAt < :cursorAt " +
+            "or (t.transactedAt = :cursorAt and t.id < :cursorId)) " +
+            "order by t.transactedAt desc, t.id desc")
+    List<TransactionSummary> findHistory(
+            @Param("accountId") Long accountId,
+            @Param("transactionType") TransactionType transactionType,
+            @Param("transactionResult") TransactionResultType transactionResult,
+            @Param("from") LocalDateTime from,
+            @Param("cursorAt") LocalDateTime cursorAt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
+    /**
+     * 내보내기용 전진 전용 커서
+     * 엔티티가 아닌 DTO 로 읽어 영속성 컨텍스트에 쌓이지 않는다.
+     * 트랜잭션 안에서 쓰고 반드시 close 해야 한다.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.example.account.dto.TransactionDto(" +
+            "a.accountNumber, t.transactionType, t.transactionResult, " +
+            "t.transactionId, t.amount, t.balanceSnapshot, t.transactedAt) " +
+            "from Transaction t join t.account a " +
+            "where t.transactedAt >= :from and t.transactedAt < :to " +
+            "order by t.id")
+    Stream<TransactionDto> streamForExport(@Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to);
 }
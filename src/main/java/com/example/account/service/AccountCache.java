@@ -0,0 +1,156 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 계좌(계좌번호)/사용자(id) 조회 캐시
+ * 값을 바꾸지 않는 조회에만 쓴다 - 잔액 사용/이체의 사용자 확인, 거래 내역의 계좌번호 → id.
+ * 잔액을 바꾸는 경로는 계좌 엔티티를 DB 에서 직접 읽는다.
+ * 엔티티가 아닌 값(CachedAccount, CachedAccountUser)을 두어 스레드/트랜잭션끼리 엔티티를 공유하지 않는다.
+ * 계좌 잔액/상태나 사용자가 바뀌면 커밋 후 이 노드의 값을 갱신(무효화)하고,
+ * Redis pub/sub 으로 다른 노드에 무효화를 알린다.
+ */
+@Slf4j
+@Component
+public class AccountCache {
+    private static final String INVALIDATION_TOPIC = "account-cache-invalidation";
+    private static final String ACCOUNT = "A";
+    private static final String ACCOUNT_USER = "U";
+
+    private final AccountRepository accountRepository;
+    private final AccountUserRepository accountUserRepository;
+    private final RTopic invalidationTopic;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Cache<String, CachedAccount> accounts;
+    private final Cache<Long, CachedAccountUser> accountUsers;
+
+    public AccountCache(
+            AccountRepository accountRepository,
+            AccountUserRepository accountUserRepository,
+            RedissonClient redissonClient,
+            MeterRegistry meterRegistry,
+            @Value("${account.cache.maximum-size:10000}") long maximumSize,
+            @Value("${account.cache.ttl-seconds:60}") long ttlSeconds
+    ) {
+        this.accountRepository = accountRepository;
+        this.accountUserRepository = accountUserRepository;
+        this.invalidationTopic = redissonClient.getTopic(INVALIDATION_TOPIC,
+                StringCodec.INSTANCE);
+
+        this.accounts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.accountUsers = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, accounts, "account");
+        CaffeineCacheMetrics.monitor(meterRegistry, accountUsers, "accountUser");
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        invalidationTopic.addListener(String.class, (channel, message) -> {
+            // {nodeId}|{A: 계좌번호, U: 사용자 id}|{key}
+            String[] fields = message.split("\\|", 3);
+            if (nodeId.equals(fields[0])) {
+                return;
+            }
+            if (ACCOUNT_USER.equals(fields[1])) {
+                accountUsers.invalidate(Long.valueOf(fields[2]));
+            } else {
+                accounts.invalidate(fields[2]);
+            }
+        });
+    }
+
+    public Optional<CachedAccount> getAccount(String accountNumber) {
+        return Optional.ofNullable(accounts.get(accountNumber, key ->
+                accountRepository.findByAccountNumber(key)
+                        .map(CachedAccount::from)
+                        .orElse(null)));
+    }
+
+    public Optional<CachedAccountUser> getAccountUser(Long userId) {
+        return Optional.ofNullable(accountUsers.get(userId, key ->
+                accountUserRepository.findById(key)
+                        .map(CachedAccountUser::from)
+                        .orElse(null)));
+    }
+
+    /**
+     * 잔액/상태 변경 후 호출
+     * 트랜잭션 안이면 커밋이 끝난 뒤에 반영한다 (롤백되면 아무것도 하지 않음).
+     */
+    public void refresh(Account account) {
+        CachedAccount cached = CachedAccount.from(account);
+        afterCommit(() -> {
+            accounts.put(cached.getAccountNumber(), cached);
+            publish(ACCOUNT, cached.getAccountNumber());
+        });
+    }
+
+    public void evict(String accountNumber) {
+        afterCommit(() -> {
+            accounts.invalidate(accountNumber);
+            publish(ACCOUNT, accountNumber);
+        });
+    }
+
+    /**
+     * 사용자 변경(계좌 수 등) 후 호출
+     */
+    public void evictAccountUser(Long userId) {
+        afterCommit(() -> {
+            accountUsers.invalidate(userId);
+            publish(ACCOUNT_USER, String.valueOf(userId));
+        });
+    }
+
+    private void publish(String type, String key) {
+        try {
+            invalidationTopic.publish(nodeId + "|" + type + "|" + key);
+        } catch (Exception e) {
+            // 다른 노드는 TTL 이 지나면 다시 읽는다
+            log.error("Failed to publish cache invalidation : {}", key, e);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                });
+    }
+}
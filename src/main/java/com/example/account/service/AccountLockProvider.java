@@ -0,0 +1,34 @@
+package com.example.account.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 계좌 lock 저장소
+ * account.lock.provider 설정으로 구현체를 선택한다.
+ * - redis : Redisson 분산 lock (기본값)
+ * - local : JVM 내부 striped lock (단일 노드 전용)
+ * leaseTime 이 -1 이면 unlock 할 때까지 보유한다.
+ * (redis 는 watchdog 이 만료 시간을 계속 연장, local 은 원래 만료가 없음)
+ * async 메서드는 기다리는 동안 스레드를 잡지 않고, 호출 스레드 대신 ownerId 로 소유자를 구분한다.
+ */
+public interface AccountLockProvider {
+    boolean tryLock(String accountNumber, long waitTime, long leaseTime,
+                    TimeUnit unit) throws InterruptedException;
+
+    void unlock(String accountNumber);
+
+    CompletableFuture<Boolean> tryLockAsync(String accountNumber, long waitTime,
+                                            long leaseTime, TimeUnit unit,
+                                            long ownerId);
+
+    CompletableFuture<Void> unlockAsync(String accountNumber, long ownerId);
+
+    /**
+     * 실제로 잡히는 lock 의 식별자
+     * 같은 값이면 같은 lock 이다. 여러 계좌를 잡을 때 이 값으로 중복을 없애고 순서를 정한다.
+     */
+    default String lockKey(String accountNumber) {
+        return accountNumber;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 계좌별 mailbox (ACTOR 모드)
+ * 같은 계좌 작업은 큐에 쌓고 한 번에 하나씩 처리한다. 기다리는 작업은 스레드를 잡지 않는다.
+ * 작업이 돌려준 future 가 끝나야 다음 작업을 꺼낸다.
+ * mailbox 는 처음 쓸 때 만들고, 큐가 비면 바로 없앤다.
+ * 큐가 account.actor.max-queue-depth 를 넘으면 기다리지 않고 ACCOUNT_TRANSACTION_LOCK 으로 실패한다.
+ * 실행기가 작업을 받지 않으면 (종료 중 등) 큐에 남은 작업을 ACCOUNT_TRANSACTION_LOCK 으로 실패시키고 mailbox 를 없앤다.
+ */
+@Slf4j
+@Component
+public class AccountMailboxes {
+    private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final AccountTaskExecutor accountTaskExecutor;
+    private final int maxQueueDepth;
+    private final Counter rejectedCounter;
+
+    public AccountMailboxes(
+            AccountTaskExecutor accountTaskExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${account.actor.max-queue-depth:100}") int maxQueueDepth
+    ) {
+        this.accountTaskExecutor = accountTaskExecutor;
+        this.maxQueueDepth = maxQueueDepth;
+        Gauge.builder("account.actor.mailboxes", mailboxes, Map::size)
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("account.actor.rejected")
+                .register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> submit(
+            String accountNumber, Supplier<? extends CompletionStage<T>> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable job = () -> {
+            CompletionStage<T> stage;
+            try {
+                stage = task.get();
+            } catch (Throwable e) {
+                stage = CompletableFuture.failedFuture(e);
+            }
+            stage.whenComplete((value, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(LockAopAspect.unwrap(error));
+                } else {
+                    result.complete(value);
+                }
+                schedule(accountNumber);
+            });
+        };
+
+        // 큐 추가/시작 판단과 비었을 때 제거를 같은 map 구간에서 해서 유실이 없다
+        boolean[] start = new boolean[1];
+        boolean[] rejected = new boolean[1];
+        mailboxes.compute(accountNumber, (key, mailbox) -> {
+            Mailbox target = mailbox != null ? mailbox : new Mailbox();
+            if (target.queue.size() >= maxQueueDepth) {
+                rejected[0] = true;
+                return target;
+            }
+            target.queue.add(new Task(job, result));
+            if (!target.running) {
+                target.running = true;
+                start[0] = true;
+            }
+            return target;
+        });
+
+        if (rejected[0]) {
+            rejectedCounter.increment();
+            log.error("Mailbox is full for accountNumber : {}", accountNumber);
+            return CompletableFuture.failedFuture(
+                    new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+        }
+        if (start[0]) {
+            schedule(accountNumber);
+        }
+        return result;
+    }
+
+    private void schedule(String accountNumber) {
+        try {
+            accountTaskExecutor.execute(() -> runNext(accountNumber));
+        } catch (RuntimeException e) {
+            // 다음 작업을 돌릴 스레드가 없으므로 남은 작업이 영원히 기다리지 않게 끝낸다
+            log.error("Failed to schedule mailbox for accountNumber : {}",
+                    accountNumber, e);
+            Mailbox mailbox = mailboxes.remove(accountNumber);
+            if (mailbox == null) {
+                return;
+            }
+            for (Task task : mailbox.queue) {
+                rejectedCounter.increment();
+                task.result.completeExceptionally(
+                        new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+            }
+        }
+    }
+
+    private void runNext(String accountNumber) {
+        Task[] next = new Task[1];
+        mailboxes.computeIfPresent(accountNumber, (key, mailbox) -> {
+            next[0] = mailbox.queue.poll();
+            // 비었으면 mailbox 제거
+            return next[0] == null ? null : mailbox;
+        });
+        if (next[0] != null) {
+            next[0].job.run();
+        }
+    }
+
+    private static class Mailbox {
+        private final Deque<Task> queue = new ArrayDeque<>();
+        private boolean running;
+    }
+
+    private static class Task {
+        private final Runnable job;
+        private final CompletableFuture<?> result;
+
+        private Task(Runnable job, CompletableFuture<?> result) {
+            this.job = job;
+            this.result = result;
+        }
+    }
+}
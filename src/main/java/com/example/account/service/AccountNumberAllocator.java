@@ -0,0 +1,111 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.type.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 계좌번호 발급기 (hi/lo)
+ * 1. DB 시퀀스에서 블록 번호(hi)를 하나 예약
+ * 2. 블록 안의 번호(lo)는 메모리에서 lock 없이 발급
+ * 3. 블록을 다 쓰면 한 스레드만 다음 블록을 예약
+ * 시퀀스 도입 전에 발급된 계좌번호가 있으면 처음 예약할 때 그 블록들을 건너뛴다.
+ */
+@Slf4j
+@Component
+public class AccountNumberAllocator {
+    private static final long FIRST_ACCOUNT_NUMBER = 1_000_000_000L;
+    private static final long LAST_ACCOUNT_NUMBER = 9_999_999_999L;
+
+    private final AccountRepository accountRepository;
+    private final int blockSize;
+
+    // 블록 예약은 DB 호출이라 synchronized 대신 사용 (가상 스레드 pinning 방지)
+    private final ReentrantLock refillLock = new ReentrantLock();
+    private volatile Block current = new Block(0, 0);
+    private boolean skippedUsedBlocks; // refillLock 안에서만 접근
+
+    public AccountNumberAllocator(
+            AccountRepository accountRepository,
+            @Value("${account.number.block-size:100}") int blockSize
+    ) {
+        this.accountRepository = accountRepository;
+        this.blockSize = blockSize;
+    }
+
+    public String next() {
+        while (true) {
+            Block block = current;
+            long number = block.next.getAndIncrement();
+            if (number < block.end) {
+                return String.valueOf(number);
+            }
+            refill(block);
+        }
+    }
+
+    private void refill(Block exhausted) {
+        refillLock.lock();
+        try {
+            // 다른 스레드가 이미 새 블록을 채웠으면 그대로 사용
+            if (current == exhausted) {
+                current = reserveBlock();
+            }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private Block reserveBlock() {
+        // 시퀀스는 1부터 시작
+        long hi = accountRepository.nextAccountNumberBlock() - 1;
+        if (!skippedUsedBlocks) {
+            hi = skipUsedBlocks(hi);
+            skippedUsedBlocks = true;
+        }
+        long start = FIRST_ACCOUNT_NUMBER + hi * blockSize;
+        long end = start + blockSize;
+        if (end - 1 > LAST_ACCOUNT_NUMBER) {
+            throw new AccountException(ErrorCode.ACCOUNT_NUMBER_EXHAUSTED);
+        }
+        log.debug("Reserved account number block [{}, {})", start, end);
+        return new Block(start, end);
+    }
+
+    /**
+     * 이미 발급된 가장 큰 계좌번호가 들어 있는 블록까지 시퀀스를 넘긴다.
+     * (이전 방식으로 만든 계좌가 남은 DB 에서 번호가 겹치지 않도록)
+     */
+    private long skipUsedBlocks(long hi) {
+        String maxAccountNumber = accountRepository.findMaxAccountNumber();
+        if (maxAccountNumber == null) {
+            return hi;
+        }
+        long usedBlocks = (Long.parseLong(maxAccountNumber) - FIRST_ACCOUNT_NUMBER)
+                / blockSize + 1;
+        if (hi >= usedBlocks) {
+            return hi;
+        }
+        List<Long> skipped = accountRepository.nextAccountNumberBlocks(
+                usedBlocks - hi);
+        log.info("Skipped account number blocks up to {}", maxAccountNumber);
+        return skipped.get(skipped.size() - 1) - 1;
+    }
+
+    private static class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -2,7 +2,9 @@ package com.example.account.service;
 
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
+import com.example.account.dto.AccountDetail;
 import com.example.account.dto.AccountDto;
+import com.example.account.dto.AccountInfo;
 import com.example.account.exception.AccountException;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
@@ -12,9 +14,12 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import static com.example.account.type.AccountStatus.IN_USE;
 import static com.example.account.type.ErrorCode.*;
@@ -22,30 +27,30 @@ import static com.example.account.type.ErrorCode.*;
 @Service
 @RequiredArgsConstructor
 public class AccountService {
+    private static final int MAX_ACCOUNT_PER_USER = 10;
+
     private final AccountRepository accountRepository;
     private final AccountUserRepository accountUserRepository;
+    private final AccountNumberAllocator accountNumberAllocator;
+    private final AccountCache accountCache;
+    private final ConcurrencyModeResolver concurrencyModeResolver;
+    private final HotAccountLedger hotAccountLedger;
 
     /**
-     * 사용자가 있는지 조회
+     * 사용자 계좌 수를 한도 안에서 1 증가 (사용자 확인 겸)
      * 계좌번호를 생성
      * 계좌를 저장하고, 그 정보를 넘긴다 (Response)
      */
     @Transactional
     public AccountDto createAccount(Long userId, Long initialBalance) {
-        AccountUser accountUser = accountUserRepository.findById(userId)
-                // 없으면 exception throw
-                .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
-
-        validateCreateAccount(accountUser);
+        validateCreateAccount(userId);
 
-        // 가장 큰 id + 1
-        String newAccountNumber = accountRepository.findFirstByOrderByIdDesc()
-                .map(account -> (Integer.parseInt(account.getAccountNumber()) + 1 + ""))
-                .orElse("1000000000");
+        String newAccountNumber = accountNumberAllocator.next();
 
         return AccountDto.fromEntity(accountRepository.save(
                 Account.builder()
-                        .accountUser(accountUser)
+                        // 증가에 성공했으면 사용자가 있으므로 조회 없이 참조만
+                        .accountUser(accountUserRepository.getReferenceById(userId))
                         .accountNumber(newAccountNumber)
                         .accountStatus(IN_USE)
                         .balance(initialBalance)
@@ -54,18 +59,34 @@ public class AccountService {
         ));
     }
 
-    private void validateCreateAccount(AccountUser accountUser) {
-        if (accountRepository.countByAccountUser(accountUser) >= 10) {
-            throw new AccountException(MAX_ACCOUNT_PER_USER_10);
+    /**
+     * 검사와 증가를 조건부 UPDATE 한 번으로 한다.
+     * 같은 사용자의 동시 생성은 row lock 으로 줄을 서므로 한도를 넘지 않는다.
+     * 실패했을 때만 원인을 찾기 위해 조회한다.
+     */
+    private void validateCreateAccount(Long userId) {
+        if (accountUserRepository.incrementAccountCount(userId,
+                MAX_ACCOUNT_PER_USER) == 0) {
+            throw new AccountException(accountUserRepository.existsById(userId)
+                    ? MAX_ACCOUNT_PER_USER_10 : USER_NOT_FOUND);
         }
+        // 캐시에 있는 사용자의 계좌 수가 바뀌었으므로 커밋 후 무효화
+        accountCache.evictAccountUser(userId);
     }
 
     @Transactional
-    public Account getAccount(Long id) {
+    public AccountDetail getAccount(Long id) {
         if (id < 0) {
             throw new RuntimeException("Minus");
         }
-        return accountRepository.findById(id).get();
+        return accountRepository.findDetailById(id)
+                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+    }
+
+    @Transactional
+    public Long getAccountVersion(Long id) {
+        return accountRepository.findVersionById(id)
+                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
     }
 
     @Transactional
@@ -78,12 +99,19 @@ public class AccountService {
                 .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
 
         validateDeleteAccount(user, account);
+        if (concurrencyModeResolver.isHot(accountNumber)) {
+            // 핫 계좌의 최신 잔액은 Redis 원장 - 원장에서 확인하고 먼저 해지 (롤백되면 원장이 되돌림)
+            hotAccountLedger.unregister(accountNumber);
+        } else if (account.getBalance() > 0) {
+            throw new AccountException(ACCOUNT_NOT_EMPTY);
+        }
 
         // 해지 - status 변경, 해지 시간 설정
         account.setAccountStatus(AccountStatus.UNREGISTERED);
         account.setUnRegisteredAt(LocalDateTime.now());
 
         accountRepository.save(account); // 테스트를 위한 코드
+        accountCache.refresh(account);
 
         return AccountDto.fromEntity(account);
     }
@@ -97,21 +125,30 @@ public class AccountService {
         if (account.getAccountStatus() == AccountStatus.UNREGISTERED) {
             throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);
         }
-        // 잔액 확인
-        if (account.getBalance() > 0) {
-            throw new AccountException(ACCOUNT_NOT_EMPTY);
-        }
     }
 
     @Transactional
-    public List<AccountDto> getAccountsByUserId(Long userId) {
-        AccountUser accountUser = accountUserRepository.findById(userId)
-                .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
+    public List<AccountInfo> getAccountsByUserId(Long userId) {
+        if (!accountUserRepository.existsById(userId)) {
+            throw new AccountException(USER_NOT_FOUND);
+        }
 
-        List<Account> accounts =
-                accountRepository.findByAccountUser(accountUser);
+        return accountRepository.findAccountInfosByUserId(userId);
+    }
 
-        return accounts.stream().map(AccountDto::fromEntity)
-                .collect(Collectors.toList());
+    /**
+     * 여러 사용자 계좌 목록 (대시보드용)
+     * 요청 순서대로 답하고, 계좌가 없거나 없는 사용자는 빈 목록으로 답한다.
+     */
+    @Transactional
+    public Map<Long, List<AccountInfo>> getAccountsByUserIds(
+            Collection<Long> userIds) {
+        Map<Long, List<AccountInfo>> accounts = new LinkedHashMap<>();
+        userIds.forEach(userId -> accounts.put(userId, new ArrayList<>()));
+
+        accountRepository.findAccountInfosByUserIdIn(accounts.keySet())
+                .forEach(accountInfo -> accounts.get(accountInfo.getUserId())
+                        .add(accountInfo));
+        return accounts;
     }
 }
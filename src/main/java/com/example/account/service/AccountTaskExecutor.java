@@ -0,0 +1,68 @@
+package com.example.account.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * async 컨트롤러의 잔액 처리 스레드
+ * Tomcat 요청 스레드는 lock 을 기다리지 않고 바로 반환되고,
+ * lock 을 잡은 뒤의 DB 작업만 이 풀에서 돈다.
+ * spring.threads.virtual.enabled (virtual profile, Java 21 이상) 이면
+ * 풀 대신 작업마다 가상 스레드를 쓴다.
+ */
+@Slf4j
+@Component
+public class AccountTaskExecutor implements Executor {
+    private final Executor delegate;
+    private final ExecutorService executorService; // 플랫폼 스레드 풀일 때만
+
+    public AccountTaskExecutor(
+            @Value("${account.async.pool-size:64}") int poolSize,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        if (virtualThreads && Runtime.version().feature() >= 21) {
+            this.delegate = new VirtualThreadTaskExecutor("account-task-");
+            this.executorService = null;
+            return;
+        }
+        if (virtualThreads) {
+            log.warn("Virtual threads need Java 21, using a pool of {} threads",
+                    poolSize);
+        }
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executorService = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable,
+                    "account-task-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.delegate = executorService;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(command);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (executorService == null) {
+            return;
+        }
+        executorService.shutdown();
+        if (!executorService.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Account task executor did not terminate in time");
+            executorService.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.type.AccountStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 캐시에 두는 계좌 정보 (영속성 컨텍스트와 분리된 값)
+ */
+@Getter
+@AllArgsConstructor
+public class CachedAccount {
+    private Long id;
+    private String accountNumber;
+    private Long userId;
+    private AccountStatus accountStatus;
+    private Long balance;
+
+    public static CachedAccount from(Account account) {
+        return new CachedAccount(
+                account.getId(),
+                account.getAccountNumber(),
+                account.getAccountUser().getId(),
+                account.getAccountStatus(),
+                account.getBalance());
+    }
+}
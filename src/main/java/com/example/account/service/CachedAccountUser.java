@@ -0,0 +1,20 @@
+package com.example.account.service;
+
+import com.example.account.domain.AccountUser;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 캐시에 두는 사용자 정보 (영속성 컨텍스트와 분리된 값)
+ * 잔액 사용/이체의 사용자 확인에만 쓰므로 바뀌는 값(계좌 수 등)은 두지 않는다.
+ */
+@Getter
+@AllArgsConstructor
+public class CachedAccountUser {
+    private Long id;
+    private String name;
+
+    public static CachedAccountUser from(AccountUser accountUser) {
+        return new CachedAccountUser(accountUser.getId(), accountUser.getName());
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.account.service;
+
+import com.example.account.type.ConcurrencyMode;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 엔드포인트별 동시성 제어 방식
+ * - LOCK : @AccountLock 분산 lock (기본값)
+ * - OPTIMISTIC : lock 없이 Account @Version 충돌 시 재시도
+ * - ATOMIC : lock 없이 조건부 UPDATE 한 번으로 잔액 변경
+ * - HOT : account.hot.accounts 에 등록된 계좌는 엔드포인트 설정과 관계없이 Redis 원장 사용
+ * - ACTOR : lock 없이 계좌별 mailbox 에서 한 번에 하나씩 처리 (단일 노드/sticky routing 전용,
+ *           같은 계좌를 다루는 use/cancel 은 둘 다 ACTOR 로 설정해야 서로 배제된다)
+ */
+@Component
+public class ConcurrencyModeResolver {
+    public static final String USE = "use";
+    public static final String CANCEL = "cancel";
+
+    private final Map<String, ConcurrencyMode> modes;
+    @Getter
+    private final Set<String> hotAccounts;
+
+    public ConcurrencyModeResolver(
+            @Value("${account.concurrency.use:LOCK}") ConcurrencyMode useMode,
+            @Value("${account.concurrency.cancel:LOCK}") ConcurrencyMode cancelMode,
+            @Value("${account.hot.accounts:}") List<String> hotAccounts
+    ) {
+        this.modes = Map.of(USE, useMode, CANCEL, cancelMode);
+        this.hotAccounts = Set.copyOf(hotAccounts);
+    }
+
+    public ConcurrencyMode modeOf(String endpoint) {
+        return modes.getOrDefault(endpoint, ConcurrencyMode.LOCK);
+    }
+
+    public ConcurrencyMode modeOf(String endpoint, String accountNumber) {
+        if (isHot(accountNumber)) {
+            return ConcurrencyMode.HOT;
+        }
+        return modeOf(endpoint);
+    }
+
+    public boolean isHot(String accountNumber) {
+        return hotAccounts.contains(accountNumber);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 컨트롤러 메서드별 지연시간 (account.endpoint)
+ * 오류도 200 + ErrorResponse 로 응답하므로 http.server.requests 로는
+ * 실패를 구분할 수 없어 ErrorCode 를 outcome 태그로 단다.
+ * lock 대기까지 포함하도록 LockAopAspect 보다 바깥에서 잰다.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class EndpointMetricsAspect {
+    private static final String SUCCESS = "SUCCESS";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("within(@org.springframework.web.bind.annotation.RestController *)")
+    public Object aroundEndpoint(ProceedingJoinPoint pjp) throws Throwable {
+        String endpoint = pjp.getSignature().getDeclaringType().getSimpleName()
+                + "." + pjp.getSignature().getName();
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = pjp.proceed();
+        } catch (Throwable e) {
+            record(endpoint, start, e);
+            throw e;
+        }
+
+        // async 응답은 future 가 끝날 때 잰다
+        if (result instanceof CompletionStage<?> stage) {
+            stage.whenComplete((ignored, e) -> record(endpoint, start,
+                    e == null ? null : LockAopAspect.unwrap(e)));
+        } else {
+            record(endpoint, start, null);
+        }
+        return result;
+    }
+
+    private void record(String endpoint, long start, Throwable error) {
+        Timer.builder("account.endpoint")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcomeOf(error))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static String outcomeOf(Throwable error) {
+        if (error == null) {
+            return SUCCESS;
+        }
+        if (error instanceof AccountException accountException) {
+            return accountException.getErrorCode().name();
+        }
+        return error.getClass().getSimpleName();
+    }
+}
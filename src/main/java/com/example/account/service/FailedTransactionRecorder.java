@@ -0,0 +1,157 @@
+package com.example.account.service;
+
+import com.example.account.type.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실패 거래 기록기
+ * 요청 스레드는 큐에 넣기만 하고, 백그라운드 스레드가 모아서 한 번에 저장한다.
+ * 큐가 가득 차면 버리고 dropped 카운터를 올린다.
+ * 종료 시에는 큐에 남은 건을 모두 저장한 뒤 멈춘다.
+ * 저장 중인 batch 를 잃지 않도록 워커를 인터럽트하지 않고, 워커가 늦으면 남은 건은 종료 스레드가 저장한다.
+ * 종료 뒤에 들어온 건은 호출 스레드에서 바로 저장한다.
+ */
+@Slf4j
+@Component
+public class FailedTransactionRecorder {
+    private final TransactionService transactionService;
+    private final BlockingQueue<FailedTransaction> queue;
+    private final int batchSize;
+    private final long shutdownTimeoutMs;
+    private final Counter droppedCounter;
+    private final Counter savedCounter;
+    private final Counter saveErrorCounter;
+
+    private volatile boolean running = true;
+    private Thread worker;
+
+    public FailedTransactionRecorder(
+            TransactionService transactionService,
+            MeterRegistry meterRegistry,
+            @Value("${account.failed-transaction.queue-capacity:10000}") int queueCapacity,
+            @Value("${account.failed-transaction.batch-size:200}") int batchSize,
+            @Value("${account.failed-transaction.shutdown-timeout-ms:5000}") long shutdownTimeoutMs
+    ) {
+        this.transactionService = transactionService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+
+        Gauge.builder("account.failed.transaction.queue.depth", queue,
+                        BlockingQueue::size)
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("account.failed.transaction.dropped")
+                .register(meterRegistry);
+        this.savedCounter = Counter.builder("account.failed.transaction.saved")
+                .register(meterRegistry);
+        this.saveErrorCounter = Counter.builder("account.failed.transaction.save.errors")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        worker = new Thread(this::drainLoop, "failed-transaction-recorder");
+        worker.start();
+    }
+
+    public void recordUse(String accountNumber, Long amount) {
+        offer(new FailedTransaction(TransactionType.USE, accountNumber, amount,
+                LocalDateTime.now()));
+    }
+
+    public void recordCancel(String accountNumber, Long amount) {
+        offer(new FailedTransaction(TransactionType.CANCEL, accountNumber,
+                amount, LocalDateTime.now()));
+    }
+
+    public void recordTransfer(String fromAccountNumber, Long amount) {
+        offer(new FailedTransaction(TransactionType.TRANSFER_OUT,
+                fromAccountNumber, amount, LocalDateTime.now()));
+    }
+
+    private void offer(FailedTransaction failedTransaction) {
+        if (!running) {
+            // 워커가 멈췄으므로 큐에 넣으면 저장되지 않는다
+            save(List.of(failedTransaction));
+            return;
+        }
+        if (!queue.offer(failedTransaction)) {
+            droppedCounter.increment();
+            log.error("Failed transaction queue is full, dropped : {}",
+                    failedTransaction.getAccountNumber());
+            return;
+        }
+        if (!running) {
+            // 넣는 사이에 stop() 이 큐를 비웠을 수 있다
+            saveRemaining();
+        }
+    }
+
+    private void drainLoop() {
+        List<FailedTransaction> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                FailedTransaction first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                save(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                // 외부 인터럽트 - 남은 건은 stop() 이 저장
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    private void save(List<FailedTransaction> batch) {
+        try {
+            transactionService.saveFailedTransactions(batch);
+            savedCounter.increment(batch.size());
+        } catch (Exception e) {
+            saveErrorCounter.increment();
+            log.error("Failed to save {} failed transactions", batch.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // 워커는 poll 주기(100ms) 안에 플래그를 보고 지금 저장 중인 batch 까지만 끝낸다
+        running = false;
+        worker.join(shutdownTimeoutMs);
+        if (worker.isAlive()) {
+            log.warn("Failed transaction recorder is still saving, " +
+                    "remaining entries are saved on the shutdown thread");
+        }
+
+        log.info("Failed transaction recorder stopped, flushed {} on shutdown",
+                saveRemaining());
+    }
+
+    private int saveRemaining() {
+        List<FailedTransaction> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            save(remaining.subList(from,
+                    Math.min(from + batchSize, remaining.size())));
+        }
+        return remaining.size();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 핫 계좌 원장 항목 (Redis 저장 형식)
+ * transactionId|transactionType|accountNumber|amount|balanceSnapshot|transactedAt(epoch ms)
+ */
+@Getter
+@AllArgsConstructor
+public class HotAccountEntry {
+    private String transactionId;
+    private TransactionType transactionType;
+    private String accountNumber;
+    private Long amount;
+    private Long balanceSnapshot;
+    private LocalDateTime transactedAt;
+
+    public static HotAccountEntry decode(String value) {
+        String[] fields = value.split("\\|");
+        return new HotAccountEntry(
+                fields[0],
+                TransactionType.valueOf(fields[1]),
+                fields[2],
+                Long.parseLong(fields[3]),
+                Long.parseLong(fields[4]),
+                LocalDateTime.ofInstant(
+                        Instant.ofEpochMilli(Long.parseLong(fields[5])),
+                        ZoneId.systemDefault()));
+    }
+
+    public static long toEpochMilli(LocalDateTime transactedAt) {
+        return transactedAt.atZone(ZoneId.systemDefault())
+                .toInstant().toEpochMilli();
+    }
+
+    public TransactionDto toTransactionDto() {
+        return TransactionDto.builder()
+                .accountNumber(accountNumber)
+                .transactionType(transactionType)
+                .transactionResult(TransactionResultType.S)
+                .transactionId(transactionId)
+                .amount(amount)
+                .balanceSnapshot(balanceSnapshot)
+                .transactedAt(transactedAt)
+                .build();
+    }
+}
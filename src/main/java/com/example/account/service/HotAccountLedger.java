@@ -0,0 +1,315 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 핫 계좌 잔액 원장 (Redis)
+ * 잔액은 Redis hash 에 두고, 사용/취소는 Lua 스크립트로 원자적으로 처리한다.
+ * 처리 결과는 대기열(HAQ)에 쌓이고 HotAccountPersister 가 DB 에 반영한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HotAccountLedger {
+    static final String QUEUE_KEY = "HAQ";
+    static final String PENDING_KEY = "HATX";
+    static final String BALANCE_KEY_PREFIX = "HAB:";
+
+    private static final long NOT_LOADED = -1L;
+    private static final long USER_UN_MATCH = -2L;
+    private static final long UNREGISTERED = -3L;
+    private static final long EXCEED_BALANCE = -4L;
+    private static final long NOT_EMPTY = -5L;
+
+    // KEYS: 잔액 hash, 대기열, 미반영 거래 / ARGV: userId, amount, transactionId, accountNumber, transactedAt
+    private static final String USE_SCRIPT =
+            "local balance = redis.call('HGET', KEYS[1], 'balance') " +
+            "if not balance then return -1 end " +
+            "if redis.call('HGET', KEYS[1], 'userId') ~= ARGV[1] then return -2 end " +
+            "if redis.call('HGET', KEYS[1], 'status') ~= 'IN_USE' then return -3 end " +
+            "balance = tonumber(balance) " +
+            "local amount = tonumber(ARGV[2]) " +
+            "if balance < amount then return -4 end " +
+            "balance = balance - amount " +
+            "local snapshot = string.format('%d', balance) " +
+            "redis.call('HSET', KEYS[1], 'balance', snapshot) " +
+            "local entry = ARGV[3] .. '|USE|' .. ARGV[4] .. '|' .. ARGV[2] .. '|' .. snapshot .. '|' .. ARGV[5] " +
+            "redis.call('RPUSH', KEYS[2], entry) " +
+            "redis.call('HSET', KEYS[3], ARGV[3], entry) " +
+            "return balance";
+
+    // KEYS: 잔액 hash, 대기열, 미반영 거래 / ARGV: amount, transactionId, accountNumber, transactedAt
+    private static final String CANCEL_SCRIPT =
+            "local balance = redis.call('HGET', KEYS[1], 'balance') " +
+            "if not balance then return -1 end " +
+            "balance = tonumber(balance) + tonumber(ARGV[1]) " +
+            "local snapshot = string.format('%d', balance) " +
+            "redis.call('HSET', KEYS[1], 'balance', snapshot) " +
+            "local entry = ARGV[2] .. '|CANCEL|' .. ARGV[3] .. '|' .. ARGV[1] .. '|' .. snapshot .. '|' .. ARGV[4] " +
+            "redis.call('RPUSH', KEYS[2], entry) " +
+            "redis.call('HSET', KEYS[3], ARGV[2], entry) " +
+            "return balance";
+
+    // KEYS: 잔액 hash
+    private static final String UNREGISTER_SCRIPT =
+            "local balance = redis.call('HGET', KEYS[1], 'balance') " +
+            "if not balance then return -1 end " +
+            "if redis.call('HGET', KEYS[1], 'status') ~= 'IN_USE' then return -3 end " +
+            "if tonumber(balance) > 0 then return -5 end " +
+            "redis.call('HSET', KEYS[1], 'status', 'UNREGISTERED') " +
+            "return 0";
+
+    // KEYS: 잔액 hash
+    private static final String RESTORE_SCRIPT =
+            "if redis.call('HGET', KEYS[1], 'status') ~= 'UNREGISTERED' then return 0 end " +
+            "redis.call('HSET', KEYS[1], 'status', 'IN_USE') " +
+            "return 1";
+
+    // KEYS: 잔액 hash / ARGV: balance, userId, status
+    private static final String LOAD_SCRIPT =
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+            "redis.call('HMSET', KEYS[1], 'balance', ARGV[1], 'userId', ARGV[2], 'status', ARGV[3]) " +
+            "return 1";
+
+    private final RedissonClient redissonClient;
+    private final AccountRepository accountRepository;
+    private final AccountUserRepository accountUserRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final TransactionResultCache transactionResultCache;
+
+    public TransactionDto useBalance(Long userId, String accountNumber,
+                                     Long amount) {
+        LocalDateTime transactedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        String transactionId = transactionIdGenerator.generate();
+
+        long result = evalUse(userId, accountNumber, amount, transactionId,
+                transactedAt);
+        if (result == NOT_LOADED) {
+            loadIfAbsent(accountNumber);
+            result = evalUse(userId, accountNumber, amount, transactionId,
+                    transactedAt);
+        }
+        if (result == USER_UN_MATCH) {
+            throw new AccountException(accountUserRepository.existsById(userId)
+                    ? ErrorCode.USER_ACCOUNT_UN_MATCH : ErrorCode.USER_NOT_FOUND);
+        }
+        if (result == UNREGISTERED) {
+            throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+        }
+        if (result == EXCEED_BALANCE) {
+            throw new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE);
+        }
+
+        // DB 반영 전에도 거래 조회가 되도록 바로 넣는다
+        TransactionDto transactionDto = new HotAccountEntry(transactionId,
+                TransactionType.USE, accountNumber, amount, result, transactedAt)
+                .toTransactionDto();
+        transactionResultCache.put(transactionDto);
+        return transactionDto;
+    }
+
+    public TransactionDto cancelBalance(String transactionId,
+                                        String accountNumber, Long amount) {
+        HotAccountEntry original = findTransaction(transactionId);
+        validateCancelBalance(original, accountNumber, amount);
+
+        LocalDateTime transactedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        String cancelTransactionId = transactionIdGenerator.generate();
+
+        long result = evalCancel(accountNumber, amount, cancelTransactionId,
+                transactedAt);
+        if (result == NOT_LOADED) {
+            loadIfAbsent(accountNumber);
+            result = evalCancel(accountNumber, amount, cancelTransactionId,
+                    transactedAt);
+        }
+
+        TransactionDto transactionDto = new HotAccountEntry(cancelTransactionId,
+                TransactionType.CANCEL, accountNumber, amount, result, transactedAt)
+                .toTransactionDto();
+        transactionResultCache.put(transactionDto);
+        return transactionDto;
+    }
+
+    /**
+     * 핫 계좌 해지
+     * 잔액은 Redis 가 최신이므로 Redis 잔액으로 확인하고, 원장 상태를 먼저 바꿔 이후 사용을 막는다.
+     * 확인과 상태 변경이 한 스크립트라 그 사이 취소로 잔액이 생기지 않는다.
+     * 해지 트랜잭션이 롤백되면 원장 상태를 다시 IN_USE 로 되돌린다.
+     */
+    public void unregister(String accountNumber) {
+        long result = evalUnregister(accountNumber);
+        if (result == NOT_LOADED) {
+            loadIfAbsent(accountNumber);
+            result = evalUnregister(accountNumber);
+        }
+        if (result == UNREGISTERED) {
+            throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+        }
+        if (result == NOT_EMPTY) {
+            throw new AccountException(ErrorCode.ACCOUNT_NOT_EMPTY);
+        }
+        restoreOnRollback(accountNumber);
+    }
+
+    private void restoreOnRollback(String accountNumber) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status == STATUS_ROLLED_BACK) {
+                            restore(accountNumber);
+                        }
+                    }
+                });
+    }
+
+    private void restore(String accountNumber) {
+        try {
+            redissonClient.getScript(StringCodec.INSTANCE).eval(
+                    RScript.Mode.READ_WRITE, RESTORE_SCRIPT,
+                    RScript.ReturnType.INTEGER,
+                    List.of(getBalanceKey(accountNumber)));
+            log.info("Hot account unregister rolled back : {}", accountNumber);
+        } catch (RuntimeException e) {
+            log.error("Failed to restore hot account status : {}",
+                    accountNumber, e);
+        }
+    }
+
+    /**
+     * Redis 잔액, 아직 올리지 않았으면 null
+     */
+    public Long getBalance(String accountNumber) {
+        String balance = redissonClient.<String, String>getMap(
+                getBalanceKey(accountNumber), StringCodec.INSTANCE).get("balance");
+        return balance == null ? null : Long.valueOf(balance);
+    }
+
+    /**
+     * 핫 계좌에서 빠진 계좌의 잔액 hash 제거
+     * 대기열을 모두 반영한 뒤에 불러야 한다 (이후로는 DB 잔액이 기준).
+     */
+    public void evict(String accountNumber) {
+        redissonClient.getKeys().delete(getBalanceKey(accountNumber));
+    }
+
+    /**
+     * Redis 에 잔액이 없을 때만 DB 잔액으로 채운다.
+     * 이미 있으면 Redis 쪽이 최신이므로 덮어쓰지 않는다.
+     */
+    public void loadIfAbsent(String accountNumber) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        Long loaded = redissonClient.getScript(StringCodec.INSTANCE).eval(
+                RScript.Mode.READ_WRITE, LOAD_SCRIPT, RScript.ReturnType.INTEGER,
+                List.of(getBalanceKey(accountNumber)),
+                String.valueOf(account.getBalance()),
+                String.valueOf(account.getAccountUser().getId()),
+                account.getAccountStatus().name());
+        if (loaded == 1L) {
+            log.info("Hot account loaded : {}, balance : {}", accountNumber,
+                    account.getBalance());
+        }
+    }
+
+    private long evalUse(Long userId, String accountNumber, Long amount,
+                         String transactionId, LocalDateTime transactedAt) {
+        Long result = redissonClient.getScript(StringCodec.INSTANCE).eval(
+                RScript.Mode.READ_WRITE, USE_SCRIPT, RScript.ReturnType.INTEGER,
+                Arrays.asList(getBalanceKey(accountNumber), QUEUE_KEY, PENDING_KEY),
+                String.valueOf(userId), String.valueOf(amount), transactionId,
+                accountNumber,
+                String.valueOf(HotAccountEntry.toEpochMilli(transactedAt)));
+        return result;
+    }
+
+    private long evalUnregister(String accountNumber) {
+        Long result = redissonClient.getScript(StringCodec.INSTANCE).eval(
+                RScript.Mode.READ_WRITE, UNREGISTER_SCRIPT, RScript.ReturnType.INTEGER,
+                List.of(getBalanceKey(accountNumber)));
+        return result;
+    }
+
+    private long evalCancel(String accountNumber, Long amount,
+                            String transactionId, LocalDateTime transactedAt) {
+        Long result = redissonClient.getScript(StringCodec.INSTANCE).eval(
+                RScript.Mode.READ_WRITE, CANCEL_SCRIPT, RScript.ReturnType.INTEGER,
+                Arrays.asList(getBalanceKey(accountNumber), QUEUE_KEY, PENDING_KEY),
+                String.valueOf(amount), transactionId, accountNumber,
+                String.valueOf(HotAccountEntry.toEpochMilli(transactedAt)));
+        return result;
+    }
+
+    /**
+     * 아직 DB 에 반영되지 않은 거래는 Redis 에서 찾는다.
+     */
+    private HotAccountEntry findTransaction(String transactionId) {
+        return transactionRepository.findDtoByTransactionId(transactionId)
+                .map(this::toEntry)
+                .orElseGet(() -> {
+                    String pending = redissonClient.<String, String>getMap(
+                            PENDING_KEY, StringCodec.INSTANCE).get(transactionId);
+                    if (pending == null) {
+                        throw new AccountException(ErrorCode.TRANSACTION_NOT_FOUND);
+                    }
+                    return HotAccountEntry.decode(pending);
+                });
+    }
+
+    private HotAccountEntry toEntry(TransactionDto transaction) {
+        return new HotAccountEntry(transaction.getTransactionId(),
+                transaction.getTransactionType(),
+                transaction.getAccountNumber(),
+                transaction.getAmount(),
+                transaction.getBalanceSnapshot(),
+                transaction.getTransactedAt());
+    }
+
+    private void validateCancelBalance(HotAccountEntry original,
+                                       String accountNumber, Long amount) {
+        if (original.getTransactionType() == TransactionType.TRANSFER_OUT ||
+                original.getTransactionType() == TransactionType.TRANSFER_IN) {
+            throw new AccountException(ErrorCode.TRANSFER_NOT_CANCELABLE);
+        }
+        if (!Objects.equals(original.getAccountNumber(), accountNumber)) {
+            throw new AccountException(ErrorCode.TRANSACTION_ACCOUNT_UN_MATCH);
+        }
+        if (!Objects.equals(original.getAmount(), amount)) {
+            throw new AccountException(ErrorCode.CANCEL_MUST_FULLY);
+        }
+        if (original.getTransactedAt().isBefore(LocalDateTime.now().minusYears(1))) {
+            throw new AccountException(ErrorCode.TOO_OLD_ORDER_TO_CANCEL);
+        }
+    }
+
+    static String getBalanceKey(String accountNumber) {
+        return BALANCE_KEY_PREFIX + accountNumber;
+    }
+}
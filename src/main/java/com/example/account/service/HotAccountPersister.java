@@ -0,0 +1,203 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.Transaction;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RList;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 핫 계좌 원장 → DB 반영 (write-behind)
+ * 대기열 앞에서부터 batch 단위로 Transaction 을 저장하고 Account 잔액에 증감을 반영한다.
+ * 여러 노드가 떠 있어도 HALK lock 을 잡은 한 노드만 반영한다.
+ */
+@Slf4j
+@Component
+public class HotAccountPersister {
+    private static final String FLUSH_LOCK_KEY = "HALK";
+
+    private final RedissonClient redissonClient;
+    private final HotAccountLedger hotAccountLedger;
+    private final ConcurrencyModeResolver concurrencyModeResolver;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountCache accountCache;
+    private final int batchSize;
+
+    public HotAccountPersister(
+            RedissonClient redissonClient,
+            HotAccountLedger hotAccountLedger,
+            ConcurrencyModeResolver concurrencyModeResolver,
+            AccountRepository accountRepository,
+            TransactionRepository transactionRepository,
+            TransactionTemplate transactionTemplate,
+            AccountCache accountCache,
+            @Value("${account.hot.batch-size:500}") int batchSize
+    ) {
+        this.redissonClient = redissonClient;
+        this.hotAccountLedger = hotAccountLedger;
+        this.concurrencyModeResolver = concurrencyModeResolver;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.accountCache = accountCache;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 기동 시 복구
+     * 1. 이전 프로세스가 남긴 대기열을 모두 DB 에 반영 (이미 저장된 거래는 건너뜀)
+     * 2. Redis 에 잔액이 없는 핫 계좌는 DB 잔액으로 다시 채우고, DB 와 Redis 잔액을 비교
+     * 3. 핫 계좌에서 빠진 계좌의 잔액 hash 는 제거 (이후 DB 잔액이 기준)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        flush();
+        boolean flushed = redissonClient.getList(HotAccountLedger.QUEUE_KEY,
+                StringCodec.INSTANCE).isEmpty();
+
+        Set<String> hotAccounts = concurrencyModeResolver.getHotAccounts();
+        for (String accountNumber : hotAccounts) {
+            try {
+                hotAccountLedger.loadIfAbsent(accountNumber);
+                if (flushed) {
+                    verifyBalance(accountNumber);
+                }
+            } catch (Exception e) {
+                log.error("Hot account reconcile failed : {}", accountNumber, e);
+            }
+        }
+
+        if (!flushed) {
+            return;
+        }
+        redissonClient.getKeys()
+                .getKeysByPattern(HotAccountLedger.BALANCE_KEY_PREFIX + "*")
+                .forEach(key -> {
+                    String accountNumber = key.substring(
+                            HotAccountLedger.BALANCE_KEY_PREFIX.length());
+                    if (!hotAccounts.contains(accountNumber)) {
+                        log.info("Hot account evicted : {}", accountNumber);
+                        hotAccountLedger.evict(accountNumber);
+                    }
+                });
+    }
+
+    /**
+     * 대기열을 모두 반영한 뒤에는 DB 와 Redis 잔액이 같아야 한다.
+     */
+    boolean verifyBalance(String accountNumber) {
+        Long dbBalance = accountRepository.findByAccountNumber(accountNumber)
+                .map(Account::getBalance).orElse(null);
+        Long redisBalance = hotAccountLedger.getBalance(accountNumber);
+        if (Objects.equals(dbBalance, redisBalance)) {
+            return true;
+        }
+        log.error("Hot account balance mismatch : {}, db : {}, redis : {}",
+                accountNumber, dbBalance, redisBalance);
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${account.hot.flush-interval-ms:200}")
+    public void flush() {
+        RLock lock = redissonClient.getLock(FLUSH_LOCK_KEY);
+        try {
+            if (!lock.tryLock(0, TimeUnit.SECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        try {
+            RList<String> queue = redissonClient.getList(
+                    HotAccountLedger.QUEUE_KEY, StringCodec.INSTANCE);
+            List<String> batch;
+            do {
+                batch = queue.range(0, batchSize - 1);
+                if (batch.isEmpty()) {
+                    return;
+                }
+                List<HotAccountEntry> entries = batch.stream()
+                        .map(HotAccountEntry::decode)
+                        .collect(Collectors.toList());
+                transactionTemplate.executeWithoutResult(
+                        status -> persist(entries));
+
+                // DB 반영이 끝난 뒤에만 대기열에서 제거
+                queue.trim(batch.size(), -1);
+                redissonClient.getMap(HotAccountLedger.PENDING_KEY,
+                        StringCodec.INSTANCE).fastRemove(entries.stream()
+                        .map(HotAccountEntry::getTransactionId)
+                        .toArray());
+            } while (batch.size() == batchSize);
+        } catch (Exception e) {
+            log.error("Hot account flush failed", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void persist(List<HotAccountEntry> entries) {
+        Set<String> persisted = transactionRepository.findTransactionIdsIn(
+                entries.stream().map(HotAccountEntry::getTransactionId)
+                        .collect(Collectors.toList()));
+        Map<String, Account> accounts = accountRepository.findByAccountNumberIn(
+                        entries.stream().map(HotAccountEntry::getAccountNumber)
+                                .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Account::getAccountNumber,
+                        Function.identity()));
+
+        List<Transaction> transactions = new ArrayList<>();
+        for (HotAccountEntry entry : entries) {
+            Account account = accounts.get(entry.getAccountNumber());
+            if (account == null) {
+                log.error("Hot account not found, entry dropped : {}",
+                        entry.getTransactionId());
+                continue;
+            }
+            if (persisted.contains(entry.getTransactionId())) {
+                continue;
+            }
+            // 스냅샷으로 덮어쓰지 않고 증감만 반영해 DB 쪽 변경(해지 등)을 보존한다
+            account.setBalance(entry.getTransactionType() == TransactionType.CANCEL
+                    ? account.getBalance() + entry.getAmount()
+                    : account.getBalance() - entry.getAmount());
+            transactions.add(Transaction.builder()
+                    .transactionType(entry.getTransactionType())
+                    .transactionResult(TransactionResultType.S)
+                    .account(account)
+                    .amount(entry.getAmount())
+                    .balanceSnapshot(entry.getBalanceSnapshot())
+                    .transactionId(entry.getTransactionId())
+                    .transactedAt(entry.getTransactedAt())
+                    .build());
+        }
+        transactionRepository.saveAll(transactions);
+        accounts.values().forEach(accountCache::refresh);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.account.service;
+
+import com.example.account.aop.AccountLockIdInterface;
+import com.example.account.aop.AccountUserIdInterface;
+import com.example.account.aop.Idempotent;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Idempotency-Key 헤더가 있는 요청은 IdempotencyStore 를 거친다.
+ * 재시도가 lock 과 검증 쿼리를 다시 타지 않도록 LockAopAspect 보다 바깥,
+ * EndpointMetricsAspect 바로 안쪽에서 처리한다.
+ * 키는 요청한 사용자(없으면 계좌) 범위로 나누고, 요청 본문의 지문을 같이 저장해
+ * 같은 키로 다른 요청을 보내면 거절한다.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class IdempotencyAspect {
+    public static final String HEADER = "Idempotency-Key";
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+
+    @Around("@annotation(idempotent)")
+    public Object aroundMethod(
+            ProceedingJoinPoint pjp, Idempotent idempotent
+    ) throws Throwable {
+        String key = currentKey();
+        if (!StringUtils.hasText(key)) {
+            return pjp.proceed();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new AccountException(ErrorCode.INVALID_REQUEST);
+        }
+
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        boolean async = CompletableFuture.class.isAssignableFrom(
+                method.getReturnType());
+        Type responseType = async
+                ? ((ParameterizedType) method.getGenericReturnType())
+                .getActualTypeArguments()[0]
+                : method.getGenericReturnType();
+        JavaType javaType = objectMapper.getTypeFactory()
+                .constructType(responseType);
+
+        Object request = pjp.getArgs().length > 0 ? pjp.getArgs()[0] : null;
+        CompletableFuture<Object> result = idempotencyStore.execute(
+                idempotent.endpoint(), scopeOf(request), key,
+                fingerprint(request), javaType,
+                async ? () -> LockAopAspect.proceedAsync(pjp)
+                        : () -> LockAopAspect.proceedCompleted(pjp));
+        return async ? result : LockAopAspect.joinUnwrapped(result);
+    }
+
+    /**
+     * 사용자 id, 사용자 id 가 없는 요청(취소)은 계좌번호
+     */
+    private static String scopeOf(Object request) {
+        if (request instanceof AccountUserIdInterface userRequest) {
+            return "u" + userRequest.getUserId();
+        }
+        if (request instanceof AccountLockIdInterface accountRequest) {
+            return "a" + accountRequest.getAccountNumber();
+        }
+        return "-";
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String currentKey() {
+        if (RequestContextHolder.getRequestAttributes()
+                instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getHeader(HEADER);
+        }
+        return null;
+    }
+}
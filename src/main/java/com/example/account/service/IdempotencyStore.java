@@ -0,0 +1,290 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 멱등 키별 응답 저장소
+ * 처음 처리한 응답을 Redis(IDEM:{endpoint}:{scope}:{key}) 에 요청 지문과 함께 TTL 동안 두고,
+ * 같은 키로 다시 오면 처리하지 않고 저장된 응답을 돌려준다 (Redis 조회 한 번).
+ * 같은 키인데 요청 본문(지문)이 다르면 IDEMPOTENCY_KEY_REUSED.
+ * 처리 중에는 IN_PROGRESS 를 먼저 넣어 두어 다른 노드의 중복 요청은 결과가 저장될 때까지 기다린다.
+ * IN_PROGRESS 는 처리가 끝날 때까지 주기적으로 연장한다 (처리가 만료 시간보다 길어도 중복 처리되지 않도록).
+ * 같은 노드의 중복 요청은 Redis 를 거치지 않고 진행 중인 future 를 같이 기다린다.
+ * 실패한 요청은 저장하지 않으므로 재시도하면 다시 처리한다.
+ * 저장 값 : "{지문}|{응답 JSON}", 처리 중 : "IN_PROGRESS|{지문}"
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+    static final String KEY_PREFIX = "IDEM:";
+    static final String IN_PROGRESS = "IN_PROGRESS";
+    private static final String SEPARATOR = "|";
+
+    // KEYS: 멱등 키 / ARGV: 처리 중 값, 만료 시간(ms)
+    private static final String RENEW_SCRIPT =
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "return redis.call('PEXPIRE', KEYS[1], ARGV[2]) end " +
+            "return 0";
+
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final RedissonClient redissonClient;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Duration ttl;
+    private final Duration inProgressTtl;
+    private final long pollIntervalMs;
+
+    public IdempotencyStore(
+            RedissonClient redissonClient,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${account.idempotency.ttl-seconds:86400}") long ttlSeconds,
+            @Value("${account.idempotency.in-progress-ttl-ms:30000}") long inProgressTtlMs,
+            @Value("${account.idempotency.poll-interval-ms:50}") long pollIntervalMs
+    ) {
+        this.redissonClient = redissonClient;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.inProgressTtl = Duration.ofMillis(inProgressTtlMs);
+        this.pollIntervalMs = pollIntervalMs;
+    }
+
+    /**
+     * action 은 예외를 던지지 않고 실패한 future 를 돌려줘야 한다.
+     *
+     * @param scope       키를 쓰는 주체 (사용자 등) - 다른 주체의 같은 키와 섞이지 않는다
+     * @param fingerprint 요청 본문 지문 - 같은 키로 다른 요청이 오면 거절한다
+     */
+    public CompletableFuture<Object> execute(
+            String endpoint, String scope, String key, String fingerprint,
+            JavaType responseType, Supplier<CompletableFuture<Object>> action) {
+        String redisKey = redisKey(endpoint, scope, key);
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        InFlight claimed = new InFlight(fingerprint, result);
+        InFlight running = inFlight.putIfAbsent(redisKey, claimed);
+        if (running != null) {
+            if (!running.fingerprint.equals(fingerprint)) {
+                count("mismatched");
+                return CompletableFuture.failedFuture(
+                        new AccountException(ErrorCode.IDEMPOTENCY_KEY_REUSED));
+            }
+            count("joined");
+            return running.result;
+        }
+
+        RBucket<String> bucket = redissonClient.getBucket(redisKey,
+                StringCodec.INSTANCE);
+        resolve(bucket, fingerprint, responseType, action,
+                System.currentTimeMillis() + inProgressTtl.toMillis())
+                .whenComplete((value, error) -> {
+                    inFlight.remove(redisKey, claimed);
+                    if (error != null) {
+                        result.completeExceptionally(LockAopAspect.unwrap(error));
+                    } else {
+                        result.complete(value);
+                    }
+                });
+        return result;
+    }
+
+    private CompletableFuture<Object> resolve(
+            RBucket<String> bucket, String fingerprint, JavaType responseType,
+            Supplier<CompletableFuture<Object>> action, long deadline) {
+        return bucket.getAsync().toCompletableFuture()
+                .handle((stored, error) -> {
+                    if (error != null) {
+                        return proceedWithoutStore(bucket, action, error);
+                    }
+                    if (stored == null) {
+                        return claimAndRun(bucket, fingerprint, responseType,
+                                action, deadline);
+                    }
+                    int separator = stored.indexOf(SEPARATOR);
+                    String head = stored.substring(0, Math.max(separator, 0));
+                    String tail = stored.substring(separator + 1);
+                    boolean inProgress = IN_PROGRESS.equals(head);
+                    if (!fingerprint.equals(inProgress ? tail : head)) {
+                        count("mismatched");
+                        return CompletableFuture.<Object>failedFuture(
+                                new AccountException(
+                                        ErrorCode.IDEMPOTENCY_KEY_REUSED));
+                    }
+                    if (!inProgress) {
+                        count("replayed");
+                        return CompletableFuture.completedFuture(
+                                read(tail, responseType));
+                    }
+                    // 다른 노드에서 처리 중 - 결과가 저장되거나 키가 풀릴 때까지 다시 본다
+                    if (System.currentTimeMillis() >= deadline) {
+                        return CompletableFuture.<Object>failedFuture(
+                                new AccountException(
+                                        ErrorCode.IDEMPOTENT_REQUEST_IN_PROGRESS));
+                    }
+                    return CompletableFuture.runAsync(() -> {
+                            }, CompletableFuture.delayedExecutor(pollIntervalMs,
+                                    TimeUnit.MILLISECONDS))
+                            .thenCompose(ignored -> resolve(bucket, fingerprint,
+                                    responseType, action, deadline));
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<Object> claimAndRun(
+            RBucket<String> bucket, String fingerprint, JavaType responseType,
+            Supplier<CompletableFuture<Object>> action, long deadline) {
+        String marker = inProgress(fingerprint);
+        return bucket.setIfAbsentAsync(marker, inProgressTtl)
+                .toCompletableFuture()
+                .handle((claimed, error) -> {
+                    if (error != null) {
+                        return proceedWithoutStore(bucket, action, error);
+                    }
+                    return claimed
+                            ? runAndStore(bucket, fingerprint, marker, action)
+                            : resolve(bucket, fingerprint, responseType, action,
+                            deadline);
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<Object> runAndStore(
+            RBucket<String> bucket, String fingerprint, String marker,
+            Supplier<CompletableFuture<Object>> action) {
+        CompletableFuture<Object> running = action.get();
+        renewWhileRunning(bucket, marker, running);
+        return running
+                .handle((value, error) -> {
+                    if (error != null) {
+                        // 실패는 저장하지 않고 키를 풀어 재시도가 다시 처리되게 한다
+                        return bucket.deleteAsync().toCompletableFuture()
+                                .<Object>handle((ignored, deleteError) -> {
+                                    throw new CompletionException(
+                                            LockAopAspect.unwrap(error));
+                                });
+                    }
+                    return store(bucket, fingerprint, value);
+                })
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * 처리가 끝날 때까지 IN_PROGRESS 만료를 연장한다.
+     * 값이 아직 이 요청의 IN_PROGRESS 일 때만 연장해 저장된 응답의 TTL 은 건드리지 않는다.
+     */
+    private void renewWhileRunning(RBucket<String> bucket, String marker,
+                                   CompletableFuture<Object> running) {
+        long intervalMs = Math.max(1L, inProgressTtl.toMillis() / 3);
+        CompletableFuture.delayedExecutor(intervalMs, TimeUnit.MILLISECONDS)
+                .execute(() -> {
+                    if (running.isDone()) {
+                        return;
+                    }
+                    redissonClient.getScript(StringCodec.INSTANCE).evalAsync(
+                                    bucket.getName(), RScript.Mode.READ_WRITE,
+                                    RENEW_SCRIPT, RScript.ReturnType.INTEGER,
+                                    List.of(bucket.getName()), marker,
+                                    String.valueOf(inProgressTtl.toMillis()))
+                            .whenComplete((renewed, error) -> {
+                                if (error != null) {
+                                    log.error("Failed to renew idempotency key : {}",
+                                            bucket.getName(), error);
+                                }
+                                renewWhileRunning(bucket, marker, running);
+                            });
+                });
+    }
+
+    private CompletableFuture<Object> store(RBucket<String> bucket,
+                                            String fingerprint, Object value) {
+        String json;
+        try {
+            json = completed(fingerprint, objectMapper.writeValueAsString(value));
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize idempotent response : {}",
+                    bucket.getName(), e);
+            bucket.deleteAsync();
+            return CompletableFuture.completedFuture(value);
+        }
+
+        count("stored");
+        return bucket.setAsync(json, ttl.toMillis(), TimeUnit.MILLISECONDS)
+                .toCompletableFuture()
+                .handle((ignored, error) -> {
+                    if (error != null) {
+                        log.error("Failed to store idempotent response : {}",
+                                bucket.getName(), error);
+                    }
+                    return value;
+                });
+    }
+
+    /**
+     * Redis 장애 시에는 멱등 처리 없이 진행한다 (같은 노드 중복은 inFlight 로 막힌다).
+     */
+    private CompletableFuture<Object> proceedWithoutStore(
+            RBucket<String> bucket, Supplier<CompletableFuture<Object>> action,
+            Throwable error) {
+        log.error("Idempotency store is unavailable : {}", bucket.getName(),
+                error);
+        return action.get();
+    }
+
+    private Object read(String stored, JavaType responseType) {
+        try {
+            return objectMapper.readValue(stored, responseType);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String redisKey(String endpoint, String scope, String key) {
+        return KEY_PREFIX + endpoint + ":" + scope + ":" + key;
+    }
+
+    static String inProgress(String fingerprint) {
+        return IN_PROGRESS + SEPARATOR + fingerprint;
+    }
+
+    static String completed(String fingerprint, String json) {
+        return fingerprint + SEPARATOR + json;
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("account.idempotency", "outcome", outcome)
+                .increment();
+    }
+
+    private static final class InFlight {
+        private final String fingerprint;
+        private final CompletableFuture<Object> result;
+
+        private InFlight(String fingerprint, CompletableFuture<Object> result) {
+            this.fingerprint = fingerprint;
+            this.result = result;
+        }
+    }
+}
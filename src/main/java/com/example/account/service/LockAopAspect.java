@@ -1,31 +1,134 @@
 package com.example.account.service;
 
+import com.example.account.aop.AccountLock;
 import com.example.account.aop.AccountLockIdInterface;
+import com.example.account.type.ConcurrencyMode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @Aspect
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class LockAopAspect {
     private final LockService lockService;
+    private final ConcurrencyModeResolver concurrencyModeResolver;
+    private final Environment environment;
+    private final AccountMailboxes accountMailboxes;
 
-    @Around("@annotation(com.example.account.aop.AccountLock) && args(request)")
+    @Around("@annotation(accountLock) && args(request)")
     public Object aroundMethod(
-            ProceedingJoinPoint pjp, AccountLockIdInterface request
+            ProceedingJoinPoint pjp, AccountLock accountLock,
+            AccountLockIdInterface request
     ) throws Throwable {
-        // lock 취득 시도
-        lockService.lock(request.getAccountNumber());
+        boolean async = CompletableFuture.class.isAssignableFrom(
+                ((MethodSignature) pjp.getSignature()).getReturnType());
+        ConcurrencyMode mode = concurrencyModeResolver.modeOf(
+                accountLock.endpoint(), request.getAccountNumber());
+
+        // lock 대신 계좌별 mailbox 에서 차례로 처리
+        if (mode == ConcurrencyMode.ACTOR) {
+            if (async) {
+                return accountMailboxes.submit(request.getAccountNumber(),
+                        () -> proceedAsync(pjp));
+            }
+            return joinUnwrapped(accountMailboxes.submit(
+                    request.getAccountNumber(), () -> proceedCompleted(pjp)));
+        }
+
+        // lock 없이 처리하는 모드
+        if (mode != ConcurrencyMode.LOCK) {
+            return pjp.proceed();
+        }
+
+        // lock 취득 시도 (annotation 값, account.lock.endpoint.{endpoint}.* 설정이 있으면 설정 우선)
+        String prefix = "account.lock.endpoint." + accountLock.endpoint() + ".";
+        boolean failFast = environment.getProperty(prefix + "fail-fast",
+                Boolean.class, accountLock.failFast());
+        long waitMs = failFast ? 0L : environment.getProperty(prefix + "wait-ms",
+                Long.class, accountLock.tryLockTime());
+        long leaseMs = environment.getProperty(prefix + "lease-ms",
+                Long.class, accountLock.leaseTime());
+
+        if (async) {
+            return aroundAsync(pjp, request.getAccountNumber(), waitMs, leaseMs);
+        }
+
+        Long ownerId = lockService.lock(request.getAccountNumber(), waitMs, leaseMs);
         try {
             return pjp.proceed();
         } finally {
-            // lock 해제
-            lockService.unLock(request.getAccountNumber());
+            // 잡은 lock 만 해제
+            lockService.unLock(request.getAccountNumber(), ownerId);
+        }
+    }
+
+    /**
+     * CompletableFuture 를 돌려주는 메서드
+     * lock 을 기다리는 동안 요청 스레드를 잡지 않고,
+     * 반환된 future 가 끝난 뒤 lock 을 해제하고 나서 결과를 넘긴다.
+     */
+    private CompletableFuture<Object> aroundAsync(
+            ProceedingJoinPoint pjp, String accountNumber, long waitMs,
+            long leaseMs) {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        lockService.lockAsync(accountNumber, waitMs, leaseMs)
+                .whenComplete((ownerId, lockError) -> {
+                    if (lockError != null) {
+                        result.completeExceptionally(unwrap(lockError));
+                        return;
+                    }
+                    proceedAsync(pjp).whenComplete((value, error) ->
+                            lockService.unLockAsync(accountNumber, ownerId)
+                                    .whenComplete((ignored, unlockError) -> {
+                                        if (error != null) {
+                                            result.completeExceptionally(unwrap(error));
+                                        } else {
+                                            result.complete(value);
+                                        }
+                                    }));
+                });
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    static CompletableFuture<Object> proceedAsync(ProceedingJoinPoint pjp) {
+        try {
+            return (CompletableFuture<Object>) pjp.proceed();
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    static CompletableFuture<Object> proceedCompleted(
+            ProceedingJoinPoint pjp) {
+        try {
+            return CompletableFuture.completedFuture(pjp.proceed());
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
         }
     }
+
+    static Object joinUnwrapped(CompletableFuture<Object> future)
+            throws Throwable {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null
+                ? e.getCause() : e;
+    }
 }
@@ -2,43 +2,246 @@ package com.example.account.service;
 
 import com.example.account.exception.AccountException;
 import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * 계좌 lock
+ * 획득 대기 시간(account.lock.wait), 보유 시간(account.lock.hold),
+ * 획득 실패/Redis 오류 횟수를 기록한다.
+ */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class LockService {
-    private final RedissonClient redissonClient;
+    private static final long DEFAULT_WAIT_MS = 1000L;
+    private static final long DEFAULT_LEASE_MS = 15000L;
 
-    public void lock(String accountNumber) {
-        RLock lock = redissonClient.getLock(getLockKey(accountNumber));
-        log.debug("Trying lock for accountNumber : {}", accountNumber);
+    private final AccountLockProvider accountLockProvider;
+    private final Timer acquiredTimer;
+    private final Timer rejectedTimer;
+    private final Timer holdTimer;
+    private final Counter acquireFailureCounter;
+    private final Counter redisErrorCounter;
 
+    // 계좌별 lock 은 한 번에 한 요청만 잡으므로 계좌번호로 획득 시각을 둔다
+    private final Map<String, Long> acquiredAt = new ConcurrentHashMap<>();
+    // async lock 소유자 id (실제 스레드 id 와 겹치지 않도록 음수)
+    private final AtomicLong asyncOwnerIds = new AtomicLong();
+
+    public LockService(AccountLockProvider accountLockProvider,
+                       MeterRegistry meterRegistry) {
+        this.accountLockProvider = accountLockProvider;
+        this.acquiredTimer = waitTimer(meterRegistry, "acquired");
+        this.rejectedTimer = waitTimer(meterRegistry, "rejected");
+        this.holdTimer = Timer.builder("account.lock.hold")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.acquireFailureCounter = Counter.builder("account.lock.acquire.failures")
+                .register(meterRegistry);
+        this.redisErrorCounter = Counter.builder("account.lock.redis.errors")
+                .register(meterRegistry);
+    }
+
+    private static Timer waitTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("account.lock.wait")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public Long lock(String accountNumber) {
+        return lock(accountNumber, DEFAULT_WAIT_MS, DEFAULT_LEASE_MS);
+    }
+
+    /**
+     * @param waitMs  최대 대기 시간, 0 이면 바로 실패 (fail-fast)
+     * @param leaseMs 자동 해제 시간, -1 이면 unlock 까지 자동 연장 (watchdog)
+     * @return unLock 에 넘길 소유자 id (lock 을 잡은 스레드 id).
+     * Redis 오류로 lock 없이 진행하면 null 이고, 이때 unLock 은 아무것도 풀지 않는다.
+     */
+    public Long lock(String accountNumber, long waitMs, long leaseMs) {
+        log.debug("Trying lock for accountNumber : {}, wait : {}ms, lease : {}ms",
+                accountNumber, waitMs, leaseMs);
+
+        long start = System.nanoTime();
+        boolean isLock;
         try {
-            boolean isLock = lock.tryLock(1, 15, TimeUnit.SECONDS);
-            if (!isLock) {
-                log.error("===lock acq failed===");
-                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            isLock = accountLockProvider.tryLock(accountNumber,
+                    waitMs, leaseMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            // 대기 중 인터럽트 - lock 없이 진행하지 않는다
+            Thread.currentThread().interrupt();
+            acquireFailureCounter.increment();
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        } catch (RuntimeException e) {
+            redisErrorCounter.increment();
+            log.error("Redis lock failed", e);
+            return null;
+        }
+
+        long now = System.nanoTime();
+        if (!isLock) {
+            rejectedTimer.record(now - start, TimeUnit.NANOSECONDS);
+            acquireFailureCounter.increment();
+            log.error("===lock acq failed===");
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+        acquiredTimer.record(now - start, TimeUnit.NANOSECONDS);
+        acquiredAt.put(accountNumber, now);
+        return Thread.currentThread().getId();
+    }
+
+    /**
+     * 여러 계좌 lock (이체)
+     * provider 의 lock 식별자(lockKey, local 은 stripe 번호) 순서로 잡아
+     * 서로 반대 방향 요청끼리 교착되지 않는다.
+     * 같은 lock 을 쓰는 계좌는 한 번만 잡는다 (재진입 불가 lock 에서 자기 자신을 기다리지 않도록).
+     * 하나라도 실패하면 이미 잡은 lock 을 풀고 ACCOUNT_TRANSACTION_LOCK.
+     * 대기 시간은 전체 합계 기준이다.
+     *
+     * @return 잡은 순서대로의 lock (unLockAll 에 그대로 넘긴다)
+     */
+    public List<HeldLock> lockAll(Collection<String> accountNumbers, long waitMs,
+                                  long leaseMs) {
+        Map<String, String> byLockKey = new TreeMap<>();
+        for (String accountNumber : accountNumbers) {
+            byLockKey.putIfAbsent(accountLockProvider.lockKey(accountNumber),
+                    accountNumber);
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMs);
+
+        List<HeldLock> locked = new ArrayList<>();
+        try {
+            for (String accountNumber : byLockKey.values()) {
+                long remainingMs = Math.max(0L, TimeUnit.NANOSECONDS.toMillis(
+                        deadline - System.nanoTime()));
+                locked.add(new HeldLock(accountNumber,
+                        lock(accountNumber, remainingMs, leaseMs)));
             }
-        } catch (AccountException e) {
+        } catch (RuntimeException e) {
+            unLockAll(locked);
             throw e;
-        } catch (Exception e) {
-            log.error("Redis lock failed", e);
+        }
+        return locked;
+    }
+
+    public void unLockAll(List<HeldLock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            HeldLock held = locks.get(i);
+            try {
+                unLock(held.getAccountNumber(), held.getOwnerId());
+            } catch (RuntimeException e) {
+                log.error("Failed to unlock accountNumber : {}",
+                        held.getAccountNumber(), e);
+            }
         }
     }
 
-    public void unLock(String accountNumber) {
+    /**
+     * lock 이 반환한 소유자 id 로만 푼다.
+     * null(lock 없이 진행)이면 아무것도 하지 않아 다른 요청의 lock 을 풀지 않는다.
+     */
+    public void unLock(String accountNumber, Long ownerId) {
+        if (ownerId == null) {
+            return;
+        }
         log.debug("unlock for accountNumber : {}", accountNumber);
-        redissonClient.getLock(getLockKey(accountNumber)).unlock();
+        Long lockedAt = acquiredAt.remove(accountNumber);
+        if (lockedAt != null) {
+            holdTimer.record(System.nanoTime() - lockedAt, TimeUnit.NANOSECONDS);
+        }
+        try {
+            accountLockProvider.unlock(accountNumber);
+        } catch (RuntimeException e) {
+            redisErrorCounter.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * 기다리는 동안 스레드를 잡지 않는 lock
+     * 획득하면 unLockAsync 에 넘길 소유자 id 로 완료되고,
+     * 대기 시간 안에 못 잡으면 ACCOUNT_TRANSACTION_LOCK 으로 실패한다.
+     * Redis 오류는 동기 lock 과 같이 lock 없이 진행한다 (소유자 id null).
+     */
+    public CompletableFuture<Long> lockAsync(String accountNumber, long waitMs,
+                                             long leaseMs) {
+        log.debug("Trying async lock for accountNumber : {}, wait : {}ms, lease : {}ms",
+                accountNumber, waitMs, leaseMs);
+
+        long ownerId = -asyncOwnerIds.incrementAndGet();
+        long start = System.nanoTime();
+        CompletableFuture<Boolean> acquired;
+        try {
+            acquired = accountLockProvider.tryLockAsync(accountNumber, waitMs,
+                    leaseMs, TimeUnit.MILLISECONDS, ownerId);
+        } catch (RuntimeException e) {
+            acquired = CompletableFuture.failedFuture(e);
+        }
+        return acquired.handle((isLock, e) -> {
+            long now = System.nanoTime();
+            if (e != null) {
+                redisErrorCounter.increment();
+                log.error("Redis lock failed", e);
+                return null;
+            }
+            if (!isLock) {
+                rejectedTimer.record(now - start, TimeUnit.NANOSECONDS);
+                acquireFailureCounter.increment();
+                log.error("===lock acq failed===");
+                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            }
+            acquiredTimer.record(now - start, TimeUnit.NANOSECONDS);
+            acquiredAt.put(accountNumber, now);
+            return ownerId;
+        });
+    }
+
+    public CompletableFuture<Void> unLockAsync(String accountNumber, Long ownerId) {
+        if (ownerId == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        log.debug("async unlock for accountNumber : {}", accountNumber);
+        Long lockedAt = acquiredAt.remove(accountNumber);
+        if (lockedAt != null) {
+            holdTimer.record(System.nanoTime() - lockedAt, TimeUnit.NANOSECONDS);
+        }
+        try {
+            return accountLockProvider.unlockAsync(accountNumber, ownerId)
+                    .whenComplete((ignored, e) -> {
+                        if (e != null) {
+                            redisErrorCounter.increment();
+                            log.error("Redis unlock failed", e);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            redisErrorCounter.increment();
+            return CompletableFuture.failedFuture(e);
+        }
     }
 
-    private String getLockKey(String accountNumber) {
-        return "ACLK:" + accountNumber;
+    /**
+     * lockAll 로 잡은 lock 한 건
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class HeldLock {
+        private final String accountNumber;
+        private final Long ownerId; // null 이면 lock 없이 진행
     }
 }
@@ -0,0 +1,81 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * OPTIMISTIC 모드의 잔액 사용/취소
+ * lock 없이 실행하고, Account version 충돌이 나면
+ * 지터가 들어간 지수 backoff 후 새 트랜잭션으로 재시도한다.
+ */
+@Slf4j
+@Service
+public class OptimisticTransactionService {
+    private final TransactionService transactionService;
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+
+    public OptimisticTransactionService(
+            TransactionService transactionService,
+            @Value("${account.concurrency.optimistic.max-attempts:5}") int maxAttempts,
+            @Value("${account.concurrency.optimistic.base-backoff-ms:5}") long baseBackoffMillis,
+            @Value("${account.concurrency.optimistic.max-backoff-ms:100}") long maxBackoffMillis
+    ) {
+        this.transactionService = transactionService;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    public TransactionDto useBalance(Long userId, String accountNumber,
+                                     Long amount) {
+        return retry(accountNumber, () ->
+                transactionService.useBalance(userId, accountNumber, amount));
+    }
+
+    public TransactionDto cancelBalance(String transactionId,
+                                        String accountNumber, Long amount) {
+        return retry(accountNumber, () ->
+                transactionService.cancelBalance(transactionId, accountNumber,
+                        amount));
+    }
+
+    private TransactionDto retry(String accountNumber,
+                                 Supplier<TransactionDto> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= maxAttempts) {
+                    log.error("Optimistic retry exhausted for accountNumber : {}",
+                            accountNumber);
+                    throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+                }
+                log.debug("Version conflict for accountNumber : {}, attempt {}",
+                        accountNumber, attempt);
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis,
+                baseBackoffMillis << Math.min(attempt - 1, 16));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AccountException(ErrorCode.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
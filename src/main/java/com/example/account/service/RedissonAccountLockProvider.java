@@ -0,0 +1,49 @@
+package com.example.account.service;
+
+import lombok.RequiredArgsConstructor;
+import org.redisson.api.RedissonClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "account.lock.provider", havingValue = "redis",
+        matchIfMissing = true)
+public class RedissonAccountLockProvider implements AccountLockProvider {
+    private final RedissonClient redissonClient;
+
+    @Override
+    public boolean tryLock(String accountNumber, long waitTime, long leaseTime,
+                           TimeUnit unit) throws InterruptedException {
+        return redissonClient.getLock(getLockKey(accountNumber))
+                .tryLock(waitTime, leaseTime, unit);
+    }
+
+    @Override
+    public void unlock(String accountNumber) {
+        redissonClient.getLock(getLockKey(accountNumber)).unlock();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> tryLockAsync(String accountNumber,
+                                                   long waitTime, long leaseTime,
+                                                   TimeUnit unit, long ownerId) {
+        return redissonClient.getLock(getLockKey(accountNumber))
+                .tryLockAsync(waitTime, leaseTime, unit, ownerId)
+                .toCompletableFuture();
+    }
+
+    @Override
+    public CompletableFuture<Void> unlockAsync(String accountNumber, long ownerId) {
+        return redissonClient.getLock(getLockKey(accountNumber))
+                .unlockAsync(ownerId)
+                .toCompletableFuture();
+    }
+
+    private String getLockKey(String accountNumber) {
+        return "ACLK:" + accountNumber;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.account.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 시간순 거래 ID (snowflake)
+ * 41bit 시간(ms) | 10bit 노드 | 12bit 순번 을 16자 hex 로 표현한다.
+ * 같은 ms 에 순번을 다 쓰거나 시계가 뒤로 가면 다음 ms 를 미리 빌려 쓰므로
+ * 노드 안에서는 항상 증가하고, 대기나 lock 이 없다.
+ */
+@Component
+@ConditionalOnProperty(name = "account.transaction-id.generator",
+        havingValue = "snowflake")
+public class SnowflakeTransactionIdGenerator implements TransactionIdGenerator {
+    private static final long EPOCH = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+    // 시간 << SEQUENCE_BITS | 순번
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeTransactionIdGenerator(
+            @Value("${account.transaction-id.node-id:0}") long nodeId
+    ) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException(
+                    "account.transaction-id.node-id must be 0.." + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public String generate() {
+        char[] chars = new char[16];
+        UuidTransactionIdGenerator.writeHex(chars, 0, nextId());
+        return new String(chars);
+    }
+
+    long nextId() {
+        long current;
+        long next;
+        do {
+            current = state.get();
+            long now = System.currentTimeMillis() - EPOCH;
+            long lastTime = current >>> SEQUENCE_BITS;
+            if (now > lastTime) {
+                next = now << SEQUENCE_BITS;
+            } else if ((current & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                next = current + 1;
+            } else {
+                next = (lastTime + 1) << SEQUENCE_BITS;
+            }
+        } while (!state.compareAndSet(current, next));
+
+        return (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)
+                | nodeId << SEQUENCE_BITS
+                | (next & SEQUENCE_MASK);
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.account.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JVM 내부 lock
+ * 계좌번호 hash로 고정 개수의 mutex 중 하나를 고른다.
+ * 서로 다른 계좌가 같은 stripe를 공유할 수 있지만, lock 개수는 늘어나지 않는다.
+ * 소유자 id 로 해제하는 mutex라 async 경로에서는 다른 스레드가 해제할 수 있다 (재진입 불가).
+ * 동기 lock 의 소유자는 호출 스레드이고, 소유자가 아닌 해제는 IllegalMonitorStateException.
+ * lease time은 적용되지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "account.lock.provider", havingValue = "local")
+public class StripedAccountLockProvider implements AccountLockProvider {
+    private final AsyncMutex[] stripes;
+    private final int mask;
+
+    public StripedAccountLockProvider(
+            @Value("${account.lock.stripes:1024}") int stripeCount
+    ) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1) << 1);
+        this.stripes = new AsyncMutex[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new AsyncMutex();
+        }
+        this.mask = size - 1;
+    }
+
+    @Override
+    public boolean tryLock(String accountNumber, long waitTime, long leaseTime,
+                           TimeUnit unit) throws InterruptedException {
+        long ownerId = Thread.currentThread().getId();
+        CompletableFuture<Boolean> acquired = stripeOf(accountNumber)
+                .acquire(ownerId, waitTime, unit);
+        try {
+            return acquired.get();
+        } catch (InterruptedException e) {
+            // 대기를 포기했는데 그 사이 넘겨받았으면 바로 돌려준다
+            if (!acquired.complete(false) && acquired.join()) {
+                stripeOf(accountNumber).release(ownerId);
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void unlock(String accountNumber) {
+        stripeOf(accountNumber).release(Thread.currentThread().getId());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> tryLockAsync(String accountNumber,
+                                                   long waitTime, long leaseTime,
+                                                   TimeUnit unit, long ownerId) {
+        return stripeOf(accountNumber).acquire(ownerId, waitTime, unit);
+    }
+
+    @Override
+    public CompletableFuture<Void> unlockAsync(String accountNumber, long ownerId) {
+        try {
+            stripeOf(accountNumber).release(ownerId);
+        } catch (IllegalMonitorStateException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * 같은 stripe 의 계좌는 같은 lock 이므로 stripe 번호
+     */
+    @Override
+    public String lockKey(String accountNumber) {
+        return String.valueOf(stripeIndex(accountNumber));
+    }
+
+    private AsyncMutex stripeOf(String accountNumber) {
+        return stripes[stripeIndex(accountNumber)];
+    }
+
+    private int stripeIndex(String accountNumber) {
+        int h = accountNumber.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * 대기자를 future 로 줄 세우는 mutex
+     * 해제 시 다음 대기자에게 lock 을 바로 넘긴다 (대기 중 스레드를 잡지 않음).
+     * 소유자 id 를 기록해 소유자가 아닌 해제는 거부한다.
+     * (동기 경로는 스레드 id, async 경로는 음수 id 라 겹치지 않는다)
+     */
+    static final class AsyncMutex {
+        private final Deque<Waiter> waiters = new ArrayDeque<>();
+        private boolean locked;
+        private long owner;
+
+        CompletableFuture<Boolean> acquire(long ownerId, long waitTime, TimeUnit unit) {
+            Waiter waiter;
+            synchronized (this) {
+                if (!locked) {
+                    locked = true;
+                    owner = ownerId;
+                    return CompletableFuture.completedFuture(true);
+                }
+                if (waitTime <= 0) {
+                    return CompletableFuture.completedFuture(false);
+                }
+                waiter = new Waiter(ownerId);
+                waiters.add(waiter);
+            }
+            waiter.future.completeOnTimeout(false, waitTime, unit)
+                    .thenAccept(acquired -> {
+                        if (!acquired) {
+                            remove(waiter);
+                        }
+                    });
+            return waiter.future;
+        }
+
+        void release(long ownerId) {
+            synchronized (this) {
+                if (!locked || owner != ownerId) {
+                    throw new IllegalMonitorStateException(
+                            "lock is not held by owner " + ownerId);
+                }
+            }
+            while (true) {
+                Waiter next;
+                synchronized (this) {
+                    next = waiters.poll();
+                    if (next == null) {
+                        locked = false;
+                        return;
+                    }
+                    owner = next.ownerId;
+                }
+                // 콜백이 monitor 밖에서 돌도록 synchronized 밖에서 넘긴다
+                if (next.future.complete(true)) {
+                    return;
+                }
+            }
+        }
+
+        private synchronized void remove(Waiter waiter) {
+            waiters.remove(waiter);
+        }
+
+        private static final class Waiter {
+            private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+            private final long ownerId;
+
+            private Waiter(long ownerId) {
+                this.ownerId = ownerId;
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+import static com.example.account.service.ConcurrencyModeResolver.USE;
+
+/**
+ * 잔액 사용 batch
+ * 요청을 계좌번호별로 묶어 계좌마다 lock 을 한 번만 잡고 순서대로 처리한다.
+ * 실패한 건은 단건 요청과 같이 F 거래로 남긴다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionBatchService {
+    private final TransactionService transactionService;
+    private final HotAccountLedger hotAccountLedger;
+    private final LockService lockService;
+    private final ConcurrencyModeResolver concurrencyModeResolver;
+    private final AccountMailboxes accountMailboxes;
+    private final FailedTransactionRecorder failedTransactionRecorder;
+
+    public List<TransactionDto> useBalanceBatch(List<UseBalance.Request> requests) {
+        TransactionDto[] results = new TransactionDto[requests.size()];
+
+        Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            groups.computeIfAbsent(requests.get(i).getAccountNumber(),
+                    accountNumber -> new ArrayList<>()).add(i);
+        }
+
+        groups.forEach((accountNumber, indexes) -> {
+            List<UseBalance.Request> group = indexes.stream()
+                    .map(requests::get).collect(Collectors.toList());
+            List<TransactionDto> groupResults = switch (
+                    concurrencyModeResolver.modeOf(USE, accountNumber)) {
+                case HOT -> useHotAccount(group);
+                case ACTOR -> useInMailbox(accountNumber, group);
+                default -> useWithLock(accountNumber, group);
+            };
+            for (int i = 0; i < indexes.size(); i++) {
+                results[indexes.get(i)] = groupResults.get(i);
+            }
+        });
+
+        return Arrays.asList(results);
+    }
+
+    private List<TransactionDto> useWithLock(String accountNumber,
+                                             List<UseBalance.Request> group) {
+        Long ownerId;
+        try {
+            ownerId = lockService.lock(accountNumber);
+        } catch (AccountException e) {
+            return failedAll(accountNumber, group);
+        }
+
+        try {
+            return transactionService.useBalanceGroup(accountNumber, group);
+        } catch (AccountException | OptimisticLockingFailureException e) {
+            log.error("Failed to use balance batch for accountNumber : {}",
+                    accountNumber);
+            return failedAll(accountNumber, group);
+        } finally {
+            lockService.unLock(accountNumber, ownerId);
+        }
+    }
+
+    /**
+     * ACTOR 모드에서는 단건 요청과 같은 mailbox 에 넣어 순서대로 처리한다.
+     */
+    private List<TransactionDto> useInMailbox(String accountNumber,
+                                              List<UseBalance.Request> group) {
+        try {
+            return accountMailboxes.<List<TransactionDto>>submit(accountNumber,
+                    () -> CompletableFuture.completedFuture(
+                            transactionService.useBalanceGroup(accountNumber, group)))
+                    .join();
+        } catch (CompletionException e) {
+            if (!(e.getCause() instanceof AccountException ||
+                    e.getCause() instanceof OptimisticLockingFailureException)) {
+                throw e;
+            }
+            log.error("Failed to use balance batch for accountNumber : {}",
+                    accountNumber);
+            return failedAll(accountNumber, group);
+        }
+    }
+
+    private List<TransactionDto> useHotAccount(List<UseBalance.Request> group) {
+        List<TransactionDto> results = new ArrayList<>();
+        for (UseBalance.Request request : group) {
+            try {
+                results.add(hotAccountLedger.useBalance(request.getUserId(),
+                        request.getAccountNumber(), request.getAmount()));
+            } catch (AccountException e) {
+                failedTransactionRecorder.recordUse(request.getAccountNumber(),
+                        request.getAmount());
+                results.add(failed(request));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 묶음 전체 실패 - F 거래를 남기고 그 결과를 돌려준다.
+     * 남기지 못하면(없는 계좌, 저장 실패) 거래 번호 없는 F 결과.
+     */
+    private List<TransactionDto> failedAll(String accountNumber,
+                                           List<UseBalance.Request> group) {
+        try {
+            List<TransactionDto> saved = transactionService
+                    .saveFailedUseTransactions(accountNumber, group);
+            if (saved.size() == group.size()) {
+                return saved;
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to save failed batch for accountNumber : {}",
+                    accountNumber, e);
+        }
+        return group.stream().map(this::failed).collect(Collectors.toList());
+    }
+
+    private TransactionDto failed(UseBalance.Request request) {
+        return TransactionDto.builder()
+                .accountNumber(request.getAccountNumber())
+                .transactionType(TransactionType.USE)
+                .transactionResult(TransactionResultType.F)
+                .amount(request.getAmount())
+                .transactedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.repository.TransactionRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 대사(reconciliation)용 거래 내보내기
+ * 거래를 JDBC 커서로 한 줄씩 읽어 바로 NDJSON 으로 써서
+ * 건수와 상관없이 메모리 사용량이 일정하다.
+ * 줄마다 flush 하지 않고 FLUSH_EVERY 건마다, 그리고 끝에서 한 번 flush 한다.
+ */
+@Slf4j
+@Service
+public class TransactionExportService {
+    private static final int FLUSH_EVERY = 1000;
+
+    private final TransactionRepository transactionRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    public TransactionExportService(
+            TransactionRepository transactionRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.transactionRepository = transactionRepository;
+        this.objectMapper = objectMapper;
+        // ObjectMapper 기본값은 writeValue 마다 flush (gzip 이면 줄마다 deflate flush)
+        this.rowWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * [from, to) 구간의 거래를 NDJSON 으로 쓴다.
+     * 스트림은 닫지 않는다 (호출한 쪽 소유).
+     *
+     * @return 내보낸 건수
+     */
+    public long export(LocalDateTime from, LocalDateTime to, boolean gzip,
+                       OutputStream outputStream) throws IOException {
+        GZIPOutputStream gzipOutputStream = gzip
+                ? new GZIPOutputStream(outputStream, 64 * 1024) : null;
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(
+                gzip ? gzipOutputStream : outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        Long count = readOnlyTransactionTemplate.execute(status -> {
+            long written = 0;
+            try (Stream<TransactionDto> transactions =
+                         transactionRepository.streamForExport(from, to)) {
+                Iterator<TransactionDto> iterator = transactions.iterator();
+                while (iterator.hasNext()) {
+                    rowWriter.writeValue(generator, iterator.next());
+                    generator.writeRaw('\n');
+                    if (++written % FLUSH_EVERY == 0) {
+                        generator.flush();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return written;
+        });
+
+        generator.close();
+        if (gzipOutputStream != null) {
+            gzipOutputStream.finish();
+        }
+        log.info("Exported {} transactions [{}, {})", count, from, to);
+        return count;
+    }
+}
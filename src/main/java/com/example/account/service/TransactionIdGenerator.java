@@ -0,0 +1,11 @@
+package com.example.account.service;
+
+/**
+ * 거래 ID 생성기
+ * account.transaction-id.generator 설정으로 구현체를 선택한다.
+ * - uuid : 랜덤 UUID 32자 (기본값)
+ * - snowflake : 시간순 64bit ID 16자
+ */
+public interface TransactionIdGenerator {
+    String generate();
+}
@@ -0,0 +1,70 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+/**
+ * 거래 조회 결과 캐시
+ * 거래는 저장된 뒤 바뀌지 않으므로 저장 시점에 넣고 무효화하지 않는다.
+ * 크기 제한을 넘으면 Caffeine(W-TinyLFU) 정책으로 자주 안 쓰는 항목부터 밀려난다.
+ * TransactionDto 는 변경 가능하므로 넣을 때와 꺼낼 때 복사해 캐시 값이 바뀌지 않게 한다.
+ */
+@Component
+public class TransactionResultCache {
+    private final Cache<String, TransactionDto> transactions;
+
+    public TransactionResultCache(
+            MeterRegistry meterRegistry,
+            @Value("${account.transaction-cache.maximum-size:100000}") long maximumSize
+    ) {
+        this.transactions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, transactions, "transaction");
+    }
+
+    public Optional<TransactionDto> get(String transactionId) {
+        return Optional.ofNullable(transactions.getIfPresent(transactionId))
+                .map(TransactionResultCache::copyOf);
+    }
+
+    /**
+     * 트랜잭션 안이면 커밋된 뒤에 넣는다 (롤백된 거래가 조회되지 않도록).
+     */
+    public void put(TransactionDto transactionDto) {
+        TransactionDto cached = copyOf(transactionDto);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactions.put(cached.getTransactionId(), cached);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        transactions.put(cached.getTransactionId(), cached);
+                    }
+                });
+    }
+
+    private static TransactionDto copyOf(TransactionDto transactionDto) {
+        return TransactionDto.builder()
+                .accountNumber(transactionDto.getAccountNumber())
+                .transactionType(transactionDto.getTransactionType())
+                .transactionResult(transactionDto.getTransactionResult())
+                .transactionId(transactionDto.getTransactionId())
+                .amount(transactionDto.getAmount())
+                .balanceSnapshot(transactionDto.getBalanceSnapshot())
+                .transactedAt(transactionDto.getTransactedAt())
+                .build();
+    }
+}
@@ -4,6 +4,9 @@ import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.domain.Transaction;
 import com.example.account.dto.TransactionDto;
+import com.example.account.dto.TransactionHistory;
+import com.example.account.dto.TransactionSummary;
+import com.example.account.dto.UseBalance;
 import com.example.account.exception.AccountException;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
@@ -15,40 +18,57 @@ import com.example.account.type.TransactionType;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TransactionService {
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final LocalDateTime MIN_TRANSACTED_AT =
+            LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_TRANSACTED_AT =
+            LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
     private final TransactionRepository transactionRepository;
     private final AccountUserRepository accountUserRepository;
     private final AccountRepository accountRepository;
+    private final TransactionIdGenerator transactionIdGenerator;
+    private final AccountCache accountCache;
+    private final TransactionResultCache transactionResultCache;
 
     @Transactional
     public TransactionDto useBalance(Long userId, String accountNumber,
                                      Long amount) {
-        AccountUser user = accountUserRepository.findById(userId)
+        // 사용자 확인 (캐시)
+        accountCache.getAccountUser(userId)
                 .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+        // 변경할 계좌는 캐시가 아닌 DB 에서 바로 읽는다 (잔액 검증도 DB 기준)
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
 
-        validateUseBalance(user, account, amount);
+        validateUseBalance(userId, account, amount);
 
         account.useBalance(amount); // 잔액에서 감소
+        accountCache.refresh(account);
 
         return TransactionDto.fromEntity(saveAndGetTransaction(
                 TransactionType.USE, TransactionResultType.S, amount, account));
     }
 
-    private void validateUseBalance(AccountUser user, Account account,
+    private void validateUseBalance(Long userId, Account account,
                                     Long amount) {
         // 소유주 확인
-        if (!Objects.equals(user.getId(), account.getAccountUser().getId())) {
+        if (!Objects.equals(userId, account.getAccountUser().getId())) {
             throw new AccountException(ErrorCode.USER_ACCOUNT_UN_MATCH);
         }
         // 해지 상태
@@ -61,12 +81,144 @@ public class TransactionService {
         }
     }
 
+    /**
+     * ATOMIC 모드 잔액 사용
+     * 조건부 UPDATE 한 번으로 검증과 차감을 같이 하고,
+     * 실패했을 때만 원인을 찾기 위해 조회한다.
+     */
     @Transactional
-    public void saveFailedUseTransaction(String accountNumber, Long amount) {
+    public TransactionDto useBalanceAtomic(Long userId, String accountNumber,
+                                           Long amount) {
+        int updated = accountRepository.debitBalance(accountNumber, userId,
+                AccountStatus.IN_USE, amount, LocalDateTime.now());
+        if (updated == 0) {
+            throw resolveDebitFailure(userId, accountNumber, amount);
+        }
+
+        // 같은 트랜잭션에서 차감 후 잔액 조회
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        accountCache.refresh(account);
+
+        return TransactionDto.fromEntity(saveAndGetTransaction(
+                TransactionType.USE, TransactionResultType.S, amount, account));
+    }
+
+    private AccountException resolveDebitFailure(Long userId,
+                                                 String accountNumber,
+                                                 Long amount) {
+        // 사용자 확인 (캐시)
+        accountCache.getAccountUser(userId)
+                .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
-        saveAndGetTransaction(TransactionType.USE, TransactionResultType.F,
-                amount, account);
+
+        validateUseBalance(userId, account, amount);
+
+        // 조회 시점에는 조건을 만족 - 그 사이 다른 요청이 잔액을 바꿈
+        return new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+    }
+
+    /**
+     * 실패 거래 일괄 저장 (FailedTransactionRecorder)
+     * 없는 계좌의 실패 건은 남길 계좌가 없으므로 건너뛴다.
+     */
+    @Transactional
+    public void saveFailedTransactions(List<FailedTransaction> failedTransactions) {
+        Map<String, Account> accounts = accountRepository.findByAccountNumberIn(
+                        failedTransactions.stream()
+                                .map(FailedTransaction::getAccountNumber)
+                                .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Account::getAccountNumber,
+                        Function.identity()));
+
+        List<Transaction> transactions = new ArrayList<>();
+        for (FailedTransaction failedTransaction : failedTransactions) {
+            Account account = accounts.get(failedTransaction.getAccountNumber());
+            if (account == null) {
+                log.error("Account not found for failed transaction : {}",
+                        failedTransaction.getAccountNumber());
+                continue;
+            }
+            Transaction transaction = buildTransaction(
+                    failedTransaction.getTransactionType(),
+                    TransactionResultType.F, failedTransaction.getAmount(),
+                    account);
+            transaction.setTransactedAt(failedTransaction.getTransactedAt());
+            transactions.add(transaction);
+        }
+        transactionRepository.saveAll(transactions);
+    }
+
+    /**
+     * 묶음 전체가 실패한 batch 잔액 사용 (lock 실패, 묶음 처리 실패)
+     * 건마다 F 거래를 남기고 거래 번호를 돌려준다.
+     * 없는 계좌면 남길 계좌가 없으므로 빈 목록.
+     */
+    @Transactional
+    public List<TransactionDto> saveFailedUseTransactions(
+            String accountNumber, List<UseBalance.Request> requests) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElse(null);
+        if (account == null) {
+            return List.of();
+        }
+
+        List<TransactionDto> transactionDtos = transactionRepository.saveAll(
+                        requests.stream()
+                                .map(request -> buildTransaction(TransactionType.USE,
+                                        TransactionResultType.F,
+                                        request.getAmount(), account))
+                                .collect(Collectors.toList()))
+                .stream()
+                .map(TransactionDto::fromEntity)
+                .collect(Collectors.toList());
+        transactionDtos.forEach(transactionResultCache::put);
+        return transactionDtos;
+    }
+
+    /**
+     * 한 계좌의 여러 건 잔액 사용 (batch)
+     * 호출하는 쪽에서 계좌 lock 을 잡고 있어야 한다.
+     * 건별로 검증해 실패한 건은 F 로 남기고, 거래 내역은 한 번에 insert 한다.
+     */
+    @Transactional
+    public List<TransactionDto> useBalanceGroup(String accountNumber,
+                                                List<UseBalance.Request> requests) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        Map<Long, AccountUser> users = accountUserRepository.findAllById(
+                        requests.stream().map(UseBalance.Request::getUserId)
+                                .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(AccountUser::getId, Function.identity()));
+
+        List<Transaction> transactions = new ArrayList<>();
+        for (UseBalance.Request request : requests) {
+            TransactionResultType result = TransactionResultType.S;
+            try {
+                AccountUser user = users.get(request.getUserId());
+                if (user == null) {
+                    throw new AccountException(ErrorCode.USER_NOT_FOUND);
+                }
+                validateUseBalance(user.getId(), account, request.getAmount());
+                account.useBalance(request.getAmount());
+            } catch (AccountException e) {
+                log.error("Failed to use balance in batch. {}", e.getErrorCode());
+                result = TransactionResultType.F;
+            }
+            transactions.add(buildTransaction(TransactionType.USE, result,
+                    request.getAmount(), account));
+        }
+        accountCache.refresh(account);
+
+        List<TransactionDto> transactionDtos =
+                transactionRepository.saveAll(transactions).stream()
+                        .map(TransactionDto::fromEntity)
+                        .collect(Collectors.toList());
+        transactionDtos.forEach(transactionResultCache::put);
+        return transactionDtos;
     }
 
     private Transaction saveAndGetTransaction(
@@ -74,17 +226,66 @@ public class TransactionService {
             TransactionResultType transactionResultType,
             Long amount,
             Account account) {
-        return transactionRepository.save(
-                Transaction.builder()
-                        .transactionType(transactionType)
-                        .transactionResult(transactionResultType)
-                        .account(account)
-                        .amount(amount)
-                        .balanceSnapshot(account.getBalance())
-                        .transactionId(UUID.randomUUID().toString().replace(
-                                "-", ""))
-                        .transactedAt(LocalDateTime.now())
-                        .build());
+        Transaction transaction = transactionRepository.save(buildTransaction(
+                transactionType, transactionResultType, amount, account));
+        transactionResultCache.put(TransactionDto.fromEntity(transaction));
+        return transaction;
+    }
+
+    /**
+     * 계좌 이체
+     * 출금/입금을 한 트랜잭션에서 처리하고 서로를 가리키는 거래 두 건을 남긴다.
+     * 두 계좌의 lock 은 호출하는 쪽(TransferService)에서 잡는다.
+     */
+    @Transactional
+    public TransactionDto transfer(Long userId, String fromAccountNumber,
+                                   String toAccountNumber, Long amount) {
+        // 사용자 확인 (캐시)
+        accountCache.getAccountUser(userId)
+                .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+        Account fromAccount = accountRepository.findByAccountNumber(fromAccountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        Account toAccount = accountRepository.findByAccountNumber(toAccountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+
+        validateUseBalance(userId, fromAccount, amount);
+        if (toAccount.getAccountStatus() == AccountStatus.UNREGISTERED) {
+            throw new AccountException(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED);
+        }
+
+        fromAccount.useBalance(amount);
+        toAccount.cancelBalance(amount);
+
+        Transaction transferOut = buildTransaction(TransactionType.TRANSFER_OUT,
+                TransactionResultType.S, amount, fromAccount);
+        Transaction transferIn = buildTransaction(TransactionType.TRANSFER_IN,
+                TransactionResultType.S, amount, toAccount);
+        transferOut.setLinkedTransactionId(transferIn.getTransactionId());
+        transferIn.setLinkedTransactionId(transferOut.getTransactionId());
+        transactionRepository.saveAll(List.of(transferOut, transferIn));
+
+        accountCache.refresh(fromAccount);
+        accountCache.refresh(toAccount);
+        TransactionDto transferOutDto = TransactionDto.fromEntity(transferOut);
+        transactionResultCache.put(transferOutDto);
+        transactionResultCache.put(TransactionDto.fromEntity(transferIn));
+        return transferOutDto;
+    }
+
+    private Transaction buildTransaction(
+            TransactionType transactionType,
+            TransactionResultType transactionResultType,
+            Long amount,
+            Account account) {
+        return Transaction.builder()
+                .transactionType(transactionType)
+                .transactionResult(transactionResultType)
+                .account(account)
+                .amount(amount)
+                .balanceSnapshot(account.getBalance())
+                .transactionId(transactionIdGenerator.generate())
+                .transactedAt(LocalDateTime.now())
+                .build();
     }
 
     @Transactional
@@ -99,23 +300,51 @@ public class TransactionService {
         validateCancelBalance(transaction, account, amount);
 
         account.cancelBalance(amount);
+        accountCache.refresh(account);
 
         return TransactionDto.fromEntity(saveAndGetTransaction(
                 TransactionType.CANCEL, TransactionResultType.S, amount,
                 account));
     }
 
+    /**
+     * ATOMIC 모드 잔액 사용 취소
+     */
     @Transactional
-    public void saveFailedCancelTransaction(String accountNumber, Long amount) {
+    public TransactionDto cancelBalanceAtomic(String transactionId,
+                                              String accountNumber,
+                                              Long amount) {
+        Transaction transaction =
+                transactionRepository.findWithAccountByTransactionId(transactionId)
+                .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));
+        Account transactionAccount = transaction.getAccount();
+
+        if (!Objects.equals(transactionAccount.getAccountNumber(), accountNumber)) {
+            if (accountRepository.findByAccountNumber(accountNumber).isEmpty()) {
+                throw new AccountException(ErrorCode.ACCOUNT_NOT_FOUND);
+            }
+            throw new AccountException(ErrorCode.TRANSACTION_ACCOUNT_UN_MATCH);
+        }
+        validateCancelBalance(transaction, transactionAccount, amount);
+
+        accountRepository.creditBalance(accountNumber, amount,
+                LocalDateTime.now());
+
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        accountCache.refresh(account);
 
-        saveAndGetTransaction(TransactionType.CANCEL, TransactionResultType.F,
-                amount, account);
+        return TransactionDto.fromEntity(saveAndGetTransaction(
+                TransactionType.CANCEL, TransactionResultType.S, amount,
+                account));
     }
 
     private void validateCancelBalance(Transaction transaction,
                                        Account account, Long amount) {
+        if (transaction.getTransactionType() == TransactionType.TRANSFER_OUT ||
+                transaction.getTransactionType() == TransactionType.TRANSFER_IN) {
+            throw new AccountException(ErrorCode.TRANSFER_NOT_CANCELABLE);
+        }
         if (!Objects.equals(transaction.getAccount().getId(),
                 account.getId())) {
             throw new AccountException(ErrorCode.TRANSACTION_ACCOUNT_UN_MATCH);
@@ -128,9 +357,55 @@ public class TransactionService {
         }
     }
 
-    @Transactional
+    /**
+     * 트랜잭션 없이 캐시부터 본다 (캐시 hit 이면 커넥션을 잡지 않음).
+     * miss 면 projection 조회 한 번 - repository 메서드 자체의 읽기 트랜잭션만 쓴다.
+     */
     public TransactionDto queryTransaction(String transactionId) {
-        return TransactionDto.fromEntity(transactionRepository.findByTransactionId(transactionId)
-                .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND)));
+        return transactionResultCache.get(transactionId).orElseGet(() -> {
+            TransactionDto transactionDto =
+                    transactionRepository.findDtoByTransactionId(transactionId)
+                    .orElseThrow(() -> new AccountException(ErrorCode.TRANSACTION_NOT_FOUND));
+            transactionResultCache.put(transactionDto);
+            return transactionDto;
+        });
+    }
+
+    /**
+     * 계좌 거래 내역 (최신순, keyset 페이지)
+     * size + 1 건을 읽어 다음 페이지가 있는지 판단한다.
+     */
+    @Transactional
+    public TransactionHistory.Response getTransactionHistory(
+            String accountNumber, TransactionType transactionType,
+            TransactionResultType transactionResult, LocalDateTime from,
+            LocalDateTime to, String cursor, int size) {
+        Long accountId = accountCache.getAccount(accountNumber)
+                .orElseThrow(() -> new AccountException(ErrorCode.ACCOUNT_NOT_FOUND))
+                .getId();
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+
+        // 첫 페이지는 to(포함)를, 이후 페이지는 직전 페이지 마지막 거래를 상한으로 쓴다
+        TransactionHistory.Cursor position = cursor != null
+                ? TransactionHistory.Cursor.decode(cursor)
+                : new TransactionHistory.Cursor(to != null ? to : MAX_TRANSACTED_AT,
+                Long.MAX_VALUE);
+
+        List<TransactionSummary> transactions = transactionRepository.findHistory(
+                accountId, transactionType, transactionResult,
+                from != null ? from : MIN_TRANSACTED_AT,
+                position.getTransactedAt(), position.getId(),
+                PageRequest.of(0, pageSize + 1));
+
+        String nextCursor = null;
+        if (transactions.size() > pageSize) {
+            transactions = transactions.subList(0, pageSize);
+            nextCursor = TransactionHistory.Cursor.from(
+                    transactions.get(pageSize - 1)).encode();
+        }
+        return TransactionHistory.Response.builder()
+                .transactions(transactions)
+                .nextCursor(nextCursor)
+                .build();
     }
 }
@@ -0,0 +1,69 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 계좌 이체
+ * 두 계좌 lock 을 LockService.lockAll 로 잡은 뒤 한 트랜잭션에서 출금/입금한다.
+ * lockAll 은 계좌번호가 아니라 provider 의 lock 키 순서(local 은 stripe 번호)로 잡으므로,
+ * 여러 계좌를 잠그는 곳은 직접 lock 을 나눠 잡지 말고 lockAll 을 써야 교착되지 않는다.
+ * lock 대기/유지 시간은 account.lock.endpoint.transfer.* 설정을 따른다.
+ * 핫 계좌는 잔액이 Redis 원장에 있어 DB 트랜잭션으로 묶을 수 없으므로 이체를 막는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransferService {
+    private static final String ENDPOINT = "transfer";
+    private static final long DEFAULT_WAIT_MS = 3000L;
+    private static final long DEFAULT_LEASE_MS = 15000L;
+
+    private final TransactionService transactionService;
+    private final LockService lockService;
+    private final ConcurrencyModeResolver concurrencyModeResolver;
+    private final Environment environment;
+
+    public TransactionDto transfer(Long userId, String fromAccountNumber,
+                                   String toAccountNumber, Long amount) {
+        if (Objects.equals(fromAccountNumber, toAccountNumber)) {
+            throw new AccountException(ErrorCode.TRANSFER_SAME_ACCOUNT);
+        }
+        if (concurrencyModeResolver.isHot(fromAccountNumber) ||
+                concurrencyModeResolver.isHot(toAccountNumber)) {
+            throw new AccountException(ErrorCode.TRANSFER_HOT_ACCOUNT);
+        }
+
+        // @AccountLock 엔드포인트와 같은 설정 키 (account.lock.endpoint.{endpoint}.*)
+        String prefix = "account.lock.endpoint." + ENDPOINT + ".";
+        boolean failFast = environment.getProperty(prefix + "fail-fast",
+                Boolean.class, false);
+        long waitMs = failFast ? 0L : environment.getProperty(prefix + "wait-ms",
+                Long.class, DEFAULT_WAIT_MS);
+        long leaseMs = environment.getProperty(prefix + "lease-ms",
+                Long.class, DEFAULT_LEASE_MS);
+
+        List<LockService.HeldLock> locked = lockService.lockAll(
+                List.of(fromAccountNumber, toAccountNumber), waitMs, leaseMs);
+        try {
+            return transactionService.transfer(userId, fromAccountNumber,
+                    toAccountNumber, amount);
+        } catch (OptimisticLockingFailureException e) {
+            // lock 없이 처리하는 모드의 요청과 겹친 경우
+            log.error("Transfer conflicted : {} -> {}", fromAccountNumber,
+                    toAccountNumber);
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        } finally {
+            lockService.unLockAll(locked);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.account.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * 기존과 같은 32자 hex 형식
+ * UUID.toString() 과 replace() 를 거치지 않고 한 번에 문자열로 만든다.
+ */
+@Component
+@ConditionalOnProperty(name = "account.transaction-id.generator",
+        havingValue = "uuid", matchIfMissing = true)
+public class UuidTransactionIdGenerator implements TransactionIdGenerator {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    @Override
+    public String generate() {
+        UUID uuid = UUID.randomUUID();
+        char[] chars = new char[32];
+        writeHex(chars, 0, uuid.getMostSignificantBits());
+        writeHex(chars, 16, uuid.getLeastSignificantBits());
+        return new String(chars);
+    }
+
+    static void writeHex(char[] chars, int offset, long value) {
+        for (int i = 15; i >= 0; i--) {
+            chars[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.account.type;
+
+public enum ConcurrencyMode {
+    LOCK,
+    OPTIMISTIC,
+    ATOMIC,
+    HOT,
+    ACTOR
+}
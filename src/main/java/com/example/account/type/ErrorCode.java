@@ -19,7 +19,13 @@ public enum ErrorCode {
     AMOUNT_EXCEED_BALANCE("잔액 부족"),
     ACCOUNT_ALREADY_UNREGISTERED("계좌가 이미 해지되었습니다."),
     ACCOUNT_NOT_EMPTY("잔액이 있는 계좌는 해지할 수 없습니다."),
-    MAX_ACCOUNT_PER_USER_10("사용자 최대 계좌는 10개입니다.");
+    MAX_ACCOUNT_PER_USER_10("사용자 최대 계좌는 10개입니다."),
+    ACCOUNT_NUMBER_EXHAUSTED("발급 가능한 계좌번호가 없습니다."),
+    TRANSFER_SAME_ACCOUNT("같은 계좌로는 이체할 수 없습니다."),
+    TRANSFER_HOT_ACCOUNT("핫 계좌는 이체할 수 없습니다."),
+    TRANSFER_NOT_CANCELABLE("이체 거래는 취소할 수 없습니다."),
+    IDEMPOTENT_REQUEST_IN_PROGRESS("같은 멱등 키의 요청이 처리 중입니다."),
+    IDEMPOTENCY_KEY_REUSED("같은 멱등 키로 다른 요청을 보낼 수 없습니다.");
 
     private final String description;
 }
@@ -0,0 +1,2 @@
+-- 계좌번호 블록 시퀀스. 기존 계좌가 있으면 AccountNumberAllocator 가 첫 예약 때 max(account_number) 이후로 넘긴다.
+create sequence if not exists account_number_seq start with 1 increment by 1;
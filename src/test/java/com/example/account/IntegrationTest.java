@@ -0,0 +1,63 @@
+package com.example.account;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * embedded Redis 와 H2 가 필요한 통합 테스트의 공통 설정
+ * 설정이 같은 테스트 클래스끼리는 Spring 컨텍스트 하나를 같이 쓴다.
+ * 컨텍스트마다 비어 있는 포트에 embedded Redis 를 띄우고, H2 도 컨텍스트마다 따로 만든다.
+ * 데이터가 남아 있으므로 테스트는 createUser 로 자기 사용자를 만들어 쓴다.
+ * 설정을 바꿔야 하는 테스트만 @TestPropertySource 로 따로 컨텍스트를 띄우고 @DirtiesContext 로 닫는다.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.jpa.properties.hibernate.show_sql=false",
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                        "com.example.account.service.SqlStatementCounter"
+        })
+public abstract class IntegrationTest {
+    // data.sql 의 사용자(1~3)와 겹치지 않는 id
+    private static final AtomicLong NEXT_USER_ID = new AtomicLong(100_000L);
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void isolatedInfrastructure(DynamicPropertyRegistry registry) {
+        // 컨텍스트를 만들 때마다 호출된다
+        int redisPort = freePort();
+        String database = "jdbc:h2:mem:" + UUID.randomUUID();
+        registry.add("spring.data.redis.port", () -> redisPort);
+        registry.add("spring.datasource.url", () -> database);
+    }
+
+    /**
+     * 계좌가 없는 새 사용자
+     */
+    protected Long createUser() {
+        long userId = NEXT_USER_ID.getAndIncrement();
+        jdbcTemplate.update("insert into account_user(id, name, account_count, " +
+                "created_at, updated_at) values(?, ?, 0, now(), now())",
+                userId, "user" + userId);
+        return userId;
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.account.controller;
 
-import com.example.account.domain.Account;
+import com.example.account.dto.AccountDetail;
 import com.example.account.dto.AccountDto;
+import com.example.account.dto.AccountInfo;
 import com.example.account.dto.CreateAccount;
 import com.example.account.dto.DeleteAccount;
+import com.example.account.dto.QueryAccounts;
 import com.example.account.service.AccountService;
 import com.example.account.type.AccountStatus;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -11,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -18,12 +21,19 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -86,29 +96,63 @@ class AccountControllerTest {
     @Test
     void successGetAccount() throws Exception {
         given(accountService.getAccount(anyLong()))
-                .willReturn(Account.builder()
+                .willReturn(AccountDetail.builder()
                         .accountNumber("3456")
                         .accountStatus(AccountStatus.IN_USE)
+                        .version(3L)
                         .build());
         mockMvc.perform(MockMvcRequestBuilders.get("/account/123"))
                 .andDo(print())
                 .andExpect(jsonPath("$.accountNumber").value("3456"))
                 .andExpect(jsonPath("$.accountStatus").value("IN_USE"))
+                .andExpect(jsonPath("$.version").doesNotExist())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
                 .andExpect(MockMvcResultMatchers.status().isOk());
     }
 
+    @Test
+    void getAccountNotModified() throws Exception {
+        given(accountService.getAccountVersion(anyLong()))
+                .willReturn(3L);
+        mockMvc.perform(MockMvcRequestBuilders.get("/account/123")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(accountService, never()).getAccount(anyLong());
+    }
+
+    @Test
+    void getAccountModifiedSinceETag() throws Exception {
+        given(accountService.getAccountVersion(anyLong()))
+                .willReturn(4L);
+        given(accountService.getAccount(anyLong()))
+                .willReturn(AccountDetail.builder()
+                        .accountNumber("3456")
+                        .balance(900L)
+                        .version(4L)
+                        .build());
+        mockMvc.perform(MockMvcRequestBuilders.get("/account/123")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.balance").value(900L));
+    }
+
     @Test
     void successGetAccountsByUserId() throws Exception {
-        List<AccountDto> accountDtos =
-                Arrays.asList(AccountDto.builder()
+        List<AccountInfo> accountInfos =
+                Arrays.asList(AccountInfo.builder()
                                 .accountNumber("1234567890")
                                 .balance(100L).build(),
-                        AccountDto.builder()
+                        AccountInfo.builder()
                                 .accountNumber("1211167890")
                                 .balance(200L).build()
                 );
         given(accountService.getAccountsByUserId(anyLong()))
-                .willReturn(accountDtos);
+                .willReturn(accountInfos);
 
         mockMvc.perform(MockMvcRequestBuilders.get("/account?user_id=1"))
                 .andDo(print())
@@ -118,4 +162,26 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$[1].balance").value(200L))
                 .andExpect(MockMvcResultMatchers.status().isOk());
     }
+
+    @Test
+    void successQueryAccounts() throws Exception {
+        Map<Long, List<AccountInfo>> accounts = new LinkedHashMap<>();
+        accounts.put(1L, List.of(new AccountInfo("1234567890", 100L, 1L)));
+        accounts.put(2L, List.of());
+        given(accountService.getAccountsByUserIds(anyList()))
+                .willReturn(accounts);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/account/query")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new QueryAccounts.Request(List.of(1L, 2L)))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[0].userId").value(1L))
+                .andExpect(jsonPath("$.users[0].accounts[0].accountNumber")
+                        .value("1234567890"))
+                .andExpect(jsonPath("$.users[0].accounts[0].balance").value(100L))
+                .andExpect(jsonPath("$.users[1].userId").value(2L))
+                .andExpect(jsonPath("$.users[1].accounts").isEmpty());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.example.account.controller;
+
+import com.example.account.IntegrationTest;
+import com.example.account.dto.CreateAccount;
+import com.example.account.dto.ErrorResponse;
+import com.example.account.repository.AccountRepository;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class AccountCreateConcurrencyTest extends IntegrationTest {
+    private static final int USERS = 300;
+    private static final int ACCOUNTS_PER_USER = 10;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    @DisplayName("같은 사용자 동시 계좌 생성 - 정확히 10개까지만")
+    void concurrentCreateAccountRespectsLimit() throws Exception {
+        Long userId = createUser();
+
+        int attempts = ACCOUNTS_PER_USER * 3;
+        ExecutorService executor = Executors.newFixedThreadPool(attempts);
+        List<Future<ErrorCode>> futures = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            futures.add(executor.submit(() -> restTemplate.postForObject(
+                    "/account", new CreateAccount.Request(userId, 100L),
+                    ErrorResponse.class).getErrorCode()));
+        }
+        int created = 0;
+        for (Future<ErrorCode> future : futures) {
+            ErrorCode errorCode = future.get();
+            if (errorCode == null) {
+                created++;
+            } else {
+                Assertions.assertEquals(ErrorCode.MAX_ACCOUNT_PER_USER_10,
+                        errorCode);
+            }
+        }
+        executor.shutdown();
+
+        Assertions.assertEquals(ACCOUNTS_PER_USER, created);
+        Assertions.assertEquals(ACCOUNTS_PER_USER, jdbcTemplate.queryForObject(
+                "select count(*) from account a join account_user u " +
+                        "on a.account_user_id = u.id where u.id = ?",
+                Integer.class, userId));
+        Assertions.assertEquals(ACCOUNTS_PER_USER, jdbcTemplate.queryForObject(
+                "select account_count from account_user where id = ?",
+                Integer.class, userId));
+    }
+
+    @Test
+    @DisplayName("동시 계좌 생성 - 계좌번호 중복 없음")
+    void concurrentCreateAccountHasNoDuplicates() throws Exception {
+        List<Long> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(createUser());
+        }
+        int total = USERS * ACCOUNTS_PER_USER;
+        long existing = accountRepository.count();
+        Set<String> accountNumbers = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            Long userId = users.get(i % USERS);
+            futures.add(executor.submit(() -> {
+                CreateAccount.Response response = restTemplate.postForObject(
+                        "/account",
+                        new CreateAccount.Request(userId, 100L),
+                        CreateAccount.Response.class);
+                accountNumbers.add(response.getAccountNumber());
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        Assertions.assertEquals(total, accountNumbers.size());
+        Assertions.assertEquals(total, accountRepository.count() - existing);
+    }
+}
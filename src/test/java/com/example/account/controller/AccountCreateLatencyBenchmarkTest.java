@@ -0,0 +1,75 @@
+package com.example.account.controller;
+
+import com.example.account.IntegrationTest;
+import com.example.account.dto.CreateAccount;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 계좌 생성 지연시간이 계좌 수와 함께 늘지 않는지 확인
+ * 요청 순서대로 4구간으로 나눠 구간별 p50/p99 를 비교한다.
+ * ./gradlew benchmark 로 실행
+ */
+@Slf4j
+@Tag("benchmark")
+class AccountCreateLatencyBenchmarkTest extends IntegrationTest {
+    private static final int USERS = 300;
+    private static final int ACCOUNTS_PER_USER = 10;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void createAccountLatencyDoesNotGrow() throws Exception {
+        List<Long> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(createUser());
+        }
+
+        int total = USERS * ACCOUNTS_PER_USER;
+        long[] latencies = new long[total];
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            int index = i;
+            Long userId = users.get(i % USERS);
+            futures.add(executor.submit(() -> {
+                long start = System.nanoTime();
+                restTemplate.postForObject("/account",
+                        new CreateAccount.Request(userId, 100L),
+                        CreateAccount.Response.class);
+                latencies[index] = System.nanoTime() - start;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        int quarter = total / 4;
+        long[] p50 = new long[4];
+        for (int q = 0; q < 4; q++) {
+            long[] slice = Arrays.copyOfRange(latencies,
+                    q * quarter, (q + 1) * quarter);
+            Arrays.sort(slice);
+            p50[q] = slice[slice.length / 2];
+            log.info("create account latency q{} p50={}us p99={}us", q + 1,
+                    p50[q] / 1_000, slice[slice.length * 99 / 100] / 1_000);
+        }
+        // 마지막 구간 p50 이 첫 구간의 3배 (+ 측정 잡음 10ms) 를 넘지 않아야 한다
+        Assertions.assertTrue(p50[3] <= p50[0] * 3 + 10_000_000L,
+                "latency grew with table size: q1 p50=" + p50[0] / 1_000 +
+                        "us, q4 p50=" + p50[3] / 1_000 + "us");
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.account.service;
+
+import com.example.account.domain.Account;
+import com.example.account.domain.AccountUser;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.AccountUserRepository;
+import com.example.account.type.AccountStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountCacheTest {
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountUserRepository accountUserRepository;
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RTopic topic;
+
+    private AccountCache accountCache;
+
+    private final AccountUser user = AccountUser.builder()
+            .id(12L)
+            .name("Pororo")
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        given(redissonClient.getTopic(anyString(), any())).willReturn(topic);
+        accountCache = new AccountCache(accountRepository, accountUserRepository,
+                redissonClient, new SimpleMeterRegistry(), 100, 60);
+    }
+
+    @Test
+    @DisplayName("계좌 캐시 - 두 번째 조회는 DB 를 타지 않음")
+    void getAccountHit() {
+        given(accountRepository.findByAccountNumber("1000000000"))
+                .willReturn(Optional.of(account(1000L)));
+
+        accountCache.getAccount("1000000000");
+        CachedAccount cached = accountCache.getAccount("1000000000").orElseThrow();
+
+        Assertions.assertEquals(1000L, cached.getBalance());
+        Assertions.assertEquals(12L, cached.getUserId());
+        verify(accountRepository, times(1)).findByAccountNumber("1000000000");
+    }
+
+    @Test
+    @DisplayName("없는 계좌는 캐시하지 않음")
+    void getAccountMissIsNotCached() {
+        given(accountRepository.findByAccountNumber("1000000000"))
+                .willReturn(Optional.empty());
+
+        Assertions.assertTrue(accountCache.getAccount("1000000000").isEmpty());
+        Assertions.assertTrue(accountCache.getAccount("1000000000").isEmpty());
+
+        verify(accountRepository, times(2)).findByAccountNumber("1000000000");
+    }
+
+    @Test
+    @DisplayName("잔액 변경 시 캐시 갱신 및 다른 노드에 무효화 전파")
+    void refreshUpdatesAndPublishes() {
+        given(accountRepository.findByAccountNumber("1000000000"))
+                .willReturn(Optional.of(account(1000L)));
+        accountCache.getAccount("1000000000");
+
+        accountCache.refresh(account(700L));
+
+        Assertions.assertEquals(700L,
+                accountCache.getAccount("1000000000").orElseThrow().getBalance());
+        verify(topic).publish(any());
+        verify(accountRepository, times(1)).findByAccountNumber("1000000000");
+    }
+
+    @Test
+    void getAccountUserHit() {
+        given(accountUserRepository.findById(12L)).willReturn(Optional.of(user));
+
+        accountCache.getAccountUser(12L);
+        CachedAccountUser cached = accountCache.getAccountUser(12L).orElseThrow();
+        Assertions.assertEquals(12L, cached.getId());
+        Assertions.assertEquals(user.getName(), cached.getName());
+
+        verify(accountUserRepository, times(1)).findById(12L);
+    }
+
+    @Test
+    @DisplayName("사용자 무효화 - 다시 DB 에서 읽고 다른 노드에 전파")
+    void evictAccountUserPublishes() {
+        given(accountUserRepository.findById(12L)).willReturn(Optional.of(user));
+        accountCache.getAccountUser(12L);
+
+        accountCache.evictAccountUser(12L);
+        accountCache.getAccountUser(12L);
+
+        verify(accountUserRepository, times(2)).findById(12L);
+        verify(topic).publish(endsWith("|U|12"));
+    }
+
+    private Account account(Long balance) {
+        return Account.builder()
+                .id(1L)
+                .accountUser(user)
+                .accountNumber("1000000000")
+                .accountStatus(AccountStatus.IN_USE)
+                .balance(balance)
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+class AccountMailboxesTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AccountTaskExecutor accountTaskExecutor =
+            new AccountTaskExecutor(8, false);
+    private final AccountMailboxes accountMailboxes =
+            new AccountMailboxes(accountTaskExecutor, meterRegistry, 3);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        accountTaskExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 계좌 작업은 한 번에 하나씩 - lock 없는 카운터도 유실 없음")
+    void serializesPerAccount() {
+        AccountMailboxes unbounded = new AccountMailboxes(accountTaskExecutor,
+                meterRegistry, Integer.MAX_VALUE);
+        int[] counter = new int[1];
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            futures.add(unbounded.submit("1000000000",
+                    () -> CompletableFuture.completedFuture(++counter[0])));
+        }
+        futures.forEach(CompletableFuture::join);
+
+        Assertions.assertEquals(1000, counter[0]);
+    }
+
+    @Test
+    @DisplayName("mailbox 가 가득 차면 바로 ACCOUNT_TRANSACTION_LOCK, 비면 제거")
+    void rejectsWhenFullAndEvictsWhenIdle() throws InterruptedException {
+        CompletableFuture<String> running = new CompletableFuture<>();
+        CompletableFuture<String> first = accountMailboxes.submit(
+                "1000000000", () -> running);
+        List<CompletableFuture<String>> queued = new ArrayList<>();
+
+        // 처리 중인 작업은 큐 길이에 들어가지 않으므로 거절될 때까지 넣어 본다
+        CompletableFuture<String> rejected = null;
+        for (int i = 0; i < 100 && rejected == null; i++) {
+            CompletableFuture<String> candidate = accountMailboxes.submit(
+                    "1000000000", () -> CompletableFuture.completedFuture("queued"));
+            if (candidate.isCompletedExceptionally()) {
+                rejected = candidate;
+            } else {
+                queued.add(candidate);
+            }
+        }
+        Assertions.assertNotNull(rejected);
+        CompletionException exception = Assertions.assertThrows(
+                CompletionException.class, rejected::join);
+        Assertions.assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK,
+                ((AccountException) exception.getCause()).getErrorCode());
+
+        running.complete("done");
+        Assertions.assertEquals("done", first.join());
+        queued.forEach(CompletableFuture::join);
+        Assertions.assertTrue(queued.size() <= 3);
+
+        // 마지막 작업 뒤 mailbox 제거는 비동기로 일어난다
+        for (int i = 0; i < 100 && meterRegistry.get("account.actor.mailboxes")
+                .gauge().value() > 0; i++) {
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(0.0, meterRegistry.get("account.actor.mailboxes")
+                .gauge().value(), 0.0);
+    }
+
+    @Test
+    @DisplayName("실행기가 작업을 거절하면 큐에 남은 작업은 ACCOUNT_TRANSACTION_LOCK, mailbox 제거")
+    void failsQueuedTasksWhenExecutorRejects() throws InterruptedException {
+        CompletableFuture<String> running = new CompletableFuture<>();
+        CompletableFuture<String> first = accountMailboxes.submit(
+                "1000000000", () -> running);
+        CompletableFuture<String> queued = accountMailboxes.submit(
+                "1000000000", () -> CompletableFuture.completedFuture("queued"));
+
+        accountTaskExecutor.shutdown();
+        // 다음 작업 예약이 RejectedExecutionException 으로 실패한다
+        running.complete("done");
+
+        Assertions.assertEquals("done", first.join());
+        CompletionException exception = Assertions.assertThrows(
+                CompletionException.class, queued::join);
+        Assertions.assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK,
+                ((AccountException) exception.getCause()).getErrorCode());
+        Assertions.assertEquals(0.0, meterRegistry.get("account.actor.mailboxes")
+                .gauge().value(), 0.0);
+
+        // 새 작업도 멈춰 있지 않고 바로 실패한다
+        CompletableFuture<String> afterShutdown = accountMailboxes.submit(
+                "1000000000", () -> CompletableFuture.completedFuture("late"));
+        Assertions.assertTrue(afterShutdown.isCompletedExceptionally());
+        Assertions.assertEquals(0.0, meterRegistry.get("account.actor.mailboxes")
+                .gauge().value(), 0.0);
+    }
+}
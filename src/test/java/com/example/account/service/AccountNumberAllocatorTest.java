@@ -0,0 +1,100 @@
+package com.example.account.service;
+
+import com.example.account.repository.AccountRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountNumberAllocatorTest {
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Test
+    @DisplayName("첫 계좌번호는 1000000000")
+    void firstAccountNumber() {
+        given(accountRepository.nextAccountNumberBlock()).willReturn(1L);
+        AccountNumberAllocator allocator =
+                new AccountNumberAllocator(accountRepository, 10);
+
+        Assertions.assertEquals("1000000000", allocator.next());
+        Assertions.assertEquals("1000000001", allocator.next());
+    }
+
+    @Test
+    @DisplayName("블록을 다 쓰면 다음 블록을 예약")
+    void reserveNextBlock() {
+        given(accountRepository.nextAccountNumberBlock())
+                .willReturn(1L, 2L);
+        AccountNumberAllocator allocator =
+                new AccountNumberAllocator(accountRepository, 2);
+
+        allocator.next();
+        allocator.next();
+
+        Assertions.assertEquals("1000000002", allocator.next());
+        verify(accountRepository, times(2)).nextAccountNumberBlock();
+    }
+
+    @Test
+    @DisplayName("이미 발급된 계좌번호가 있으면 그 블록들을 건너뜀")
+    void skipBlocksOfExistingAccountNumbers() {
+        given(accountRepository.nextAccountNumberBlock()).willReturn(1L);
+        given(accountRepository.findMaxAccountNumber()).willReturn("1000000250");
+        given(accountRepository.nextAccountNumberBlocks(3L))
+                .willReturn(List.of(2L, 3L, 4L));
+        AccountNumberAllocator allocator =
+                new AccountNumberAllocator(accountRepository, 100);
+
+        Assertions.assertEquals("1000000300", allocator.next());
+    }
+
+    @Test
+    @DisplayName("동시 발급 시 중복 없음")
+    void concurrentAllocationHasNoDuplicates() throws InterruptedException {
+        AtomicLong sequence = new AtomicLong();
+        given(accountRepository.nextAccountNumberBlock())
+                .willAnswer(invocation -> sequence.incrementAndGet());
+        AccountNumberAllocator allocator =
+                new AccountNumberAllocator(accountRepository, 50);
+
+        int threads = 16;
+        int perThread = 5_000;
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < perThread; j++) {
+                        numbers.add(allocator.next());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(threads * perThread, numbers.size());
+    }
+}
@@ -3,6 +3,7 @@ package com.example.account.service;
 import com.example.account.domain.Account;
 import com.example.account.domain.AccountUser;
 import com.example.account.dto.AccountDto;
+import com.example.account.dto.AccountInfo;
 import com.example.account.exception.AccountException;
 import com.example.account.repository.AccountRepository;
 import com.example.account.repository.AccountUserRepository;
@@ -19,6 +20,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static com.example.account.type.ErrorCode.USER_NOT_FOUND;
@@ -35,6 +37,18 @@ class AccountServiceTest {
     @Mock
     private AccountUserRepository accountUserRepository;
 
+    @Mock
+    private AccountNumberAllocator accountNumberAllocator;
+
+    @Mock
+    private AccountCache accountCache;
+
+    @Mock
+    private ConcurrencyModeResolver concurrencyModeResolver;
+
+    @Mock
+    private HotAccountLedger hotAccountLedger;
+
     @InjectMocks
     private AccountService accountService;
 
@@ -45,16 +59,18 @@ class AccountServiceTest {
                 .name("Pororo")
                 .build();
 
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
+        given(accountUserRepository.incrementAccountCount(anyLong(), anyInt()))
+                .willReturn(1);
+        given(accountUserRepository.getReferenceById(anyLong()))
+                .willReturn(user);
 
         Account account = Account.builder()
-                .accountNumber("1000000001")
+                .accountNumber("1000000002")
                 .accountUser(user)
                 .build();
 
-        given(accountRepository.findFirstByOrderByIdDesc())
-                .willReturn(Optional.of(account));
+        given(accountNumberAllocator.next())
+                .willReturn("1000000002");
 
         given(accountRepository.save(any())).willReturn(account);
 
@@ -69,40 +85,13 @@ class AccountServiceTest {
         Assertions.assertEquals(dto.getUserId(), 12L);
     }
 
-    @Test
-    void createFirstAccount() {
-        AccountUser user = AccountUser.builder()
-                .id(12L)
-                .name("Pororo")
-                .build();
-
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
-
-        given(accountRepository.findFirstByOrderByIdDesc())
-                .willReturn(Optional.empty());
-
-        given(accountRepository.save(any())).willReturn(Account.builder()
-                .accountNumber("1000000001")
-                .accountUser(user)
-                .build());
-
-        ArgumentCaptor<Account> captor = ArgumentCaptor.forClass(Account.class);
-
-        // when
-        AccountDto dto = accountService.createAccount(1L, 10000L);
-
-        verify(accountRepository, times(1)).save(captor.capture());
-        Assertions.assertEquals(captor.getValue().getAccountNumber(),
-                "1000000000");
-        Assertions.assertEquals(dto.getUserId(), 12L);
-    }
-
     @Test
     @DisplayName("계좌 생성 실패 - 해당 유저 없음")
     void createAccount_UserNotFound() {
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.empty());
+        given(accountUserRepository.incrementAccountCount(anyLong(), anyInt()))
+                .willReturn(0);
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(false);
 
         // when
         AccountException exception =
@@ -117,14 +106,11 @@ class AccountServiceTest {
     @Test
     @DisplayName("계좌 생성 실패 - 최대 10개")
     void createAccount_MaxAccountIs10() {
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(AccountUser.builder()
-                        .id(12L)
-                        .name("Pororo")
-                        .build()));
-
-        given(accountRepository.countByAccountUser(any()))
-                .willReturn(10);
+        // 이미 10개 - 조건부 증가 실패
+        given(accountUserRepository.incrementAccountCount(anyLong(), eq(10)))
+                .willReturn(0);
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
 
         // when
         AccountException exception =
@@ -278,45 +264,57 @@ class AccountServiceTest {
 
     @Test
     void successGetAccountsByUserId() {
-        AccountUser user = AccountUser.builder()
-                .id(12L)
-                .name("Pororo")
-                .build();
-
-        List<Account> accounts =
-                Arrays.asList(Account.builder()
-                                .accountNumber("1234567890")
-                                .balance(100L)
-                                .accountUser(user)
-                                .build(),
-                        Account.builder()
-                                .accountNumber("1211167890")
-                                .accountUser(user)
-                                .balance(200L).build()
-                );
+        List<AccountInfo> accounts =
+                Arrays.asList(new AccountInfo("1234567890", 100L),
+                        new AccountInfo("1211167890", 200L));
         // given
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.of(user));
-        given(accountRepository.findByAccountUser(any()))
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(true);
+        given(accountRepository.findAccountInfosByUserId(anyLong()))
                 .willReturn(accounts);
 
         // when
-        List<AccountDto> accountDtos = accountService.getAccountsByUserId(1L);
+        List<AccountInfo> accountInfos = accountService.getAccountsByUserId(1L);
 
         // then
-        Assertions.assertEquals(2, accountDtos.size());
-        Assertions.assertEquals(accountDtos.get(0).getAccountNumber(),
+        Assertions.assertEquals(2, accountInfos.size());
+        Assertions.assertEquals(accountInfos.get(0).getAccountNumber(),
                 accounts.get(0).getAccountNumber());
-        Assertions.assertEquals(accountDtos.get(0).getBalance(),
+        Assertions.assertEquals(accountInfos.get(0).getBalance(),
                 accounts.get(0).getBalance());
-        Assertions.assertEquals(accountDtos.get(1).getAccountNumber(),
+        Assertions.assertEquals(accountInfos.get(1).getAccountNumber(),
                 accounts.get(1).getAccountNumber());
     }
 
+    @Test
+    @DisplayName("여러 사용자 계좌 조회 - 요청 순서대로, 계좌 없는 사용자는 빈 목록")
+    void successGetAccountsByUserIds() {
+        // given
+        given(accountRepository.findAccountInfosByUserIdIn(anyCollection()))
+                .willReturn(Arrays.asList(
+                        new AccountInfo("1234567890", 100L, 1L),
+                        new AccountInfo("1211167890", 200L, 1L),
+                        new AccountInfo("1000000005", 300L, 3L)));
+
+        // when
+        Map<Long, List<AccountInfo>> accounts =
+                accountService.getAccountsByUserIds(List.of(3L, 2L, 1L));
+
+        // then
+        Assertions.assertEquals(List.of(3L, 2L, 1L),
+                List.copyOf(accounts.keySet()));
+        Assertions.assertEquals(1, accounts.get(3L).size());
+        Assertions.assertTrue(accounts.get(2L).isEmpty());
+        Assertions.assertEquals("1211167890",
+                accounts.get(1L).get(1).getAccountNumber());
+        verify(accountRepository, times(1))
+                .findAccountInfosByUserIdIn(anyCollection());
+    }
+
     @Test
     void failedGetAccount() {
-        given(accountUserRepository.findById(anyLong()))
-                .willReturn(Optional.empty());
+        given(accountUserRepository.existsById(anyLong()))
+                .willReturn(false);
 
         AccountException exception =
                 Assertions.assertThrows(AccountException.class,
@@ -0,0 +1,122 @@
+package com.example.account.service;
+
+import com.example.account.IntegrationTest;
+import com.example.account.exception.AccountException;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * LOCK / OPTIMISTIC 모드 처리량 비교
+ * - 낮은 경합 : 스레드마다 다른 계좌
+ * - 높은 경합 : 모든 스레드가 한 계좌
+ * ./gradlew benchmark 로 실행
+ */
+@Slf4j
+@Tag("benchmark")
+class ConcurrencyModeBenchmarkTest extends IntegrationTest {
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 500;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private LockService lockService;
+
+    private OptimisticTransactionService optimisticTransactionService;
+
+    @BeforeEach
+    void setUp() {
+        // 높은 경합에서도 실패보다 재시도 비용을 재도록 재시도 횟수를 넉넉히
+        optimisticTransactionService = new OptimisticTransactionService(
+                transactionService, 100, 5, 100);
+    }
+
+    @Test
+    void compareLockAndOptimistic() throws InterruptedException {
+        Long spreadUserId = createUser();
+        Long hotUserId = createUser();
+        Long spreadForOptimisticUserId = createUser();
+        List<String> spread = createAccounts(spreadUserId, THREADS);
+        List<String> hot = createAccounts(hotUserId, 1);
+        List<String> spreadForOptimistic = createAccounts(
+                spreadForOptimisticUserId, THREADS);
+        List<String> hotForOptimistic = createAccounts(hotUserId, 1);
+
+        run("lock / low contention", spreadUserId, spread, this::useWithLock);
+        run("optimistic / low contention", spreadForOptimisticUserId,
+                spreadForOptimistic, this::useOptimistic);
+        run("lock / high contention", hotUserId, hot, this::useWithLock);
+        run("optimistic / high contention", hotUserId, hotForOptimistic,
+                this::useOptimistic);
+    }
+
+    private List<String> createAccounts(Long userId, int count) {
+        List<String> accountNumbers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            accountNumbers.add(accountService.createAccount(userId,
+                    100_000_000L).getAccountNumber());
+        }
+        return accountNumbers;
+    }
+
+    private void useWithLock(Long userId, String accountNumber) {
+        Long ownerId = lockService.lock(accountNumber);
+        try {
+            transactionService.useBalance(userId, accountNumber, 10L);
+        } finally {
+            lockService.unLock(accountNumber, ownerId);
+        }
+    }
+
+    private void useOptimistic(Long userId, String accountNumber) {
+        optimisticTransactionService.useBalance(userId, accountNumber, 10L);
+    }
+
+    private void run(String name, Long userId, List<String> accountNumbers,
+                     UseBalanceCall call) throws InterruptedException {
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long started = System.nanoTime();
+        for (int i = 0; i < THREADS; i++) {
+            String accountNumber = accountNumbers.get(i % accountNumbers.size());
+            executor.execute(() -> {
+                for (int j = 0; j < OPERATIONS_PER_THREAD; j++) {
+                    try {
+                        call.use(userId, accountNumber);
+                        succeeded.incrementAndGet();
+                    } catch (AccountException e) {
+                        failed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - started;
+
+        log.info("[{}] succeeded={} failed={} throughput={}/s", name,
+                succeeded.get(), failed.get(),
+                succeeded.get() * 1_000_000_000L / elapsed);
+    }
+
+    @FunctionalInterface
+    private interface UseBalanceCall {
+        void use(Long userId, String accountNumber);
+    }
+}
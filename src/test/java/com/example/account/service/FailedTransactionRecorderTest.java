@@ -0,0 +1,132 @@
+package com.example.account.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class FailedTransactionRecorderTest {
+    @Mock
+    private TransactionService transactionService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private FailedTransactionRecorder recorder;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (recorder != null) {
+            recorder.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("큐에 넣으면 워커가 모아서 저장")
+    void enqueuedEntriesAreSaved() {
+        recorder = new FailedTransactionRecorder(transactionService,
+                meterRegistry, 100, 10, 1_000L);
+        recorder.start();
+
+        recorder.recordUse("1000000000", 1_000L);
+
+        verify(transactionService, timeout(2_000)).saveFailedTransactions(anyList());
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차면 버리고 dropped 카운터 증가")
+    void dropWhenFull() throws InterruptedException {
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        willAnswer(invocation -> {
+            saving.countDown();
+            release.await();
+            return null;
+        }).given(transactionService).saveFailedTransactions(anyList());
+        recorder = new FailedTransactionRecorder(transactionService,
+                meterRegistry, 2, 10, 1_000L);
+        recorder.start();
+
+        // 워커가 첫 건을 저장하느라 멈춘 동안 큐(2건)를 넘긴다
+        recorder.recordUse("1000000000", 1_000L);
+        Assertions.assertTrue(saving.await(2, TimeUnit.SECONDS));
+        recorder.recordUse("1000000000", 1_000L);
+        recorder.recordCancel("1000000000", 1_000L);
+        recorder.recordUse("1000000000", 1_000L);
+
+        Assertions.assertEquals(1.0, meterRegistry.get(
+                "account.failed.transaction.dropped").counter().count());
+        Assertions.assertEquals(2.0, meterRegistry.get(
+                "account.failed.transaction.queue.depth").gauge().value());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("종료 - 저장 중인 워커를 인터럽트하지 않고, 남은 건은 종료 스레드가 저장")
+    void stopDrainsWithoutInterrupting() throws InterruptedException {
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        AtomicInteger saved = new AtomicInteger();
+        willAnswer(invocation -> {
+            saved.addAndGet(invocation.<List<?>>getArgument(0).size());
+            if (saving.getCount() > 0) {
+                saving.countDown();
+                // 워커 스레드에서 오래 걸리는 저장
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                }
+            }
+            return null;
+        }).given(transactionService).saveFailedTransactions(anyList());
+        recorder = new FailedTransactionRecorder(transactionService,
+                meterRegistry, 100, 10, 100L);
+        recorder.start();
+
+        recorder.recordUse("1000000000", 1_000L);
+        Assertions.assertTrue(saving.await(2, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) {
+            recorder.recordUse("1000000000", 1_000L);
+        }
+
+        recorder.stop();
+        recorder = null;
+        Assertions.assertEquals(4, saved.get());
+
+        release.countDown();
+        Thread.sleep(100);
+        Assertions.assertFalse(interrupted.get());
+    }
+
+    @Test
+    @DisplayName("종료 뒤에 들어온 건은 버리지 않고 바로 저장")
+    void recordAfterStopIsSaved() throws InterruptedException {
+        recorder = new FailedTransactionRecorder(transactionService,
+                meterRegistry, 100, 10, 1_000L);
+        recorder.start();
+        recorder.stop();
+
+        recorder.recordUse("1000000000", 1_000L);
+        recorder = null;
+
+        verify(transactionService).saveFailedTransactions(anyList());
+        Assertions.assertEquals(0.0, meterRegistry.get(
+                "account.failed.transaction.queue.depth").gauge().value());
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.account.service;
+
+import com.example.account.IntegrationTest;
+import com.example.account.domain.Account;
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.type.AccountStatus;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LocalRedisConfig 의 embedded Redis 로 핫 계좌 원장 검증
+ * 핫 계좌 설정 때문에 컨텍스트를 따로 띄우므로 DB 가 비어 있고,
+ * 첫 계좌번호(1000000000)를 핫 계좌로 등록한다.
+ */
+@TestPropertySource(properties = {
+        "account.hot.accounts=1000000000",
+        "account.hot.flush-interval-ms=3600000"
+})
+@DirtiesContext
+class HotAccountLedgerTest extends IntegrationTest {
+    private static final String HOT_ACCOUNT = "1000000000";
+
+    @Autowired
+    private HotAccountLedger hotAccountLedger;
+
+    @Autowired
+    private HotAccountPersister hotAccountPersister;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private RedissonClient redissonClient;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("핫 계좌 사용/취소 후 DB 반영 및 기동 시 복구")
+    void useCancelFlushAndReconcile() throws InterruptedException {
+        Long userId = createUser();
+        Assertions.assertEquals(HOT_ACCOUNT,
+                accountService.createAccount(userId, 100_000L).getAccountNumber());
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 200; i++) {
+            executor.execute(() ->
+                    hotAccountLedger.useBalance(userId, HOT_ACCOUNT, 100L));
+        }
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        // 잔액 부족
+        AccountException exception = Assertions.assertThrows(
+                AccountException.class,
+                () -> hotAccountLedger.useBalance(userId, HOT_ACCOUNT, 100_000L));
+        Assertions.assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE,
+                exception.getErrorCode());
+
+        // DB 반영 전 거래도 취소 가능
+        TransactionDto used = hotAccountLedger.useBalance(userId, HOT_ACCOUNT, 500L);
+        TransactionDto canceled = hotAccountLedger.cancelBalance(
+                used.getTransactionId(), HOT_ACCOUNT, 500L);
+        Assertions.assertEquals(80_000L, canceled.getBalanceSnapshot());
+
+        hotAccountPersister.flush();
+
+        Assertions.assertEquals(80_000L, accountRepository
+                .findByAccountNumber(HOT_ACCOUNT).orElseThrow().getBalance());
+        Assertions.assertEquals(202, transactionRepository.count());
+        Assertions.assertTrue(redissonClient.getList(HotAccountLedger.QUEUE_KEY)
+                .isEmpty());
+
+        // 프로세스가 DB 반영 전에 죽은 상황 - Redis 에는 반영, 대기열에 남은 항목을 기동 시 반영
+        hotAccountLedger.useBalance(userId, HOT_ACCOUNT, 1_000L);
+        // 핫 계좌에서 빠진 계좌의 잔액 hash
+        redissonClient.getMap(HotAccountLedger.getBalanceKey("1000000001"),
+                StringCodec.INSTANCE).put("balance", "500");
+
+        hotAccountPersister.reconcile();
+        hotAccountPersister.reconcile();
+
+        Assertions.assertEquals(79_000L, accountRepository
+                .findByAccountNumber(HOT_ACCOUNT).orElseThrow().getBalance());
+        Assertions.assertEquals(79_000L, hotAccountLedger.getBalance(HOT_ACCOUNT));
+        Assertions.assertTrue(hotAccountPersister.verifyBalance(HOT_ACCOUNT));
+        Assertions.assertEquals(203, transactionRepository.count());
+        Assertions.assertFalse(redissonClient.getKeys().countExists(
+                HotAccountLedger.getBalanceKey("1000000001")) > 0);
+
+        // 해지 - Redis 잔액 기준으로 확인하고 원장에서 먼저 막는다
+        AccountException notEmpty = Assertions.assertThrows(
+                AccountException.class,
+                () -> accountService.deleteAccount(userId, HOT_ACCOUNT));
+        Assertions.assertEquals(ErrorCode.ACCOUNT_NOT_EMPTY,
+                notEmpty.getErrorCode());
+
+        hotAccountLedger.useBalance(userId, HOT_ACCOUNT, 79_000L);
+
+        // 해지 트랜잭션이 롤백되면 원장 상태도 되돌린다
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            accountService.deleteAccount(userId, HOT_ACCOUNT);
+            status.setRollbackOnly();
+        });
+        Assertions.assertEquals("IN_USE", redissonClient.<String, String>getMap(
+                HotAccountLedger.getBalanceKey(HOT_ACCOUNT), StringCodec.INSTANCE)
+                .get("status"));
+        Assertions.assertEquals(AccountStatus.IN_USE, accountRepository
+                .findByAccountNumber(HOT_ACCOUNT).orElseThrow().getAccountStatus());
+
+        accountService.deleteAccount(userId, HOT_ACCOUNT);
+
+        AccountException unregistered = Assertions.assertThrows(
+                AccountException.class,
+                () -> hotAccountLedger.useBalance(userId, HOT_ACCOUNT, 100L));
+        Assertions.assertEquals(ErrorCode.ACCOUNT_ALREADY_UNREGISTERED,
+                unregistered.getErrorCode());
+
+        // 반영해도 해지 상태는 그대로, 잔액은 증감만 반영
+        hotAccountPersister.flush();
+        Account account = accountRepository.findByAccountNumber(HOT_ACCOUNT)
+                .orElseThrow();
+        Assertions.assertEquals(0L, account.getBalance());
+        Assertions.assertEquals(AccountStatus.UNREGISTERED,
+                account.getAccountStatus());
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.account.service;
+
+import com.example.account.IntegrationTest;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionResultType;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+class IdempotencyStoreTest extends IntegrationTest {
+    private static final String FINGERPRINT = "fingerprint";
+
+    @Autowired
+    private RedissonClient redissonClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Redis 를 다른 테스트와 같이 쓰므로 테스트마다 새 scope
+    private final String scope = "u-" + UUID.randomUUID();
+    private final String otherScope = "u-" + UUID.randomUUID();
+    private IdempotencyStore idempotencyStore;
+
+    @BeforeEach
+    void setUp() {
+        // IN_PROGRESS 갱신을 빨리 보도록 만료 시간 1초
+        idempotencyStore = new IdempotencyStore(redissonClient, objectMapper,
+                new SimpleMeterRegistry(), 86400, 1000, 50);
+    }
+
+    @Test
+    @DisplayName("같은 키 동시 요청은 한 번만 처리, 이후 재시도는 저장된 응답")
+    void concurrentDuplicatesRunOnce() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            results.add(executor.submit(() -> execute("retry-key", () -> {
+                executions.incrementAndGet();
+                return CompletableFuture.supplyAsync(() -> response("tx-1"),
+                        CompletableFuture.delayedExecutor(200,
+                                TimeUnit.MILLISECONDS));
+            }).join()));
+        }
+        for (Future<Object> result : results) {
+            Assertions.assertEquals("tx-1", ((UseBalance.Response)
+                    result.get(10, TimeUnit.SECONDS)).getTransactionId());
+        }
+        executor.shutdown();
+
+        Object replayed = execute("retry-key", () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(response("tx-2"));
+        }).join();
+
+        Assertions.assertEquals(1, executions.get());
+        UseBalance.Response response = (UseBalance.Response) replayed;
+        Assertions.assertEquals("tx-1", response.getTransactionId());
+        Assertions.assertEquals(TransactionResultType.S,
+                response.getTransactionResult());
+    }
+
+    @Test
+    @DisplayName("실패한 요청은 저장하지 않아 재시도하면 다시 처리")
+    void failureIsNotStored() {
+        CompletionException exception = Assertions.assertThrows(
+                CompletionException.class, () -> execute("failed-key",
+                        () -> CompletableFuture.failedFuture(new AccountException(
+                                ErrorCode.ACCOUNT_TRANSACTION_LOCK))).join());
+        Assertions.assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK,
+                ((AccountException) exception.getCause()).getErrorCode());
+
+        Object retried = execute("failed-key",
+                () -> CompletableFuture.completedFuture(response("tx-3"))).join();
+
+        Assertions.assertEquals("tx-3",
+                ((UseBalance.Response) retried).getTransactionId());
+    }
+
+    @Test
+    @DisplayName("다른 노드가 처리 중이면 결과가 저장될 때까지 기다리고, 넘치면 IN_PROGRESS")
+    void waitsForOtherNode() throws Exception {
+        RBucket<String> bucket = redissonClient.getBucket(
+                IdempotencyStore.redisKey("use", scope, "other-node"),
+                StringCodec.INSTANCE);
+        bucket.set(IdempotencyStore.inProgress(FINGERPRINT));
+
+        CompletableFuture<Object> waiting = execute("other-node",
+                () -> CompletableFuture.completedFuture(response("local")));
+        Thread.sleep(300);
+        Assertions.assertFalse(waiting.isDone());
+
+        bucket.set(IdempotencyStore.completed(FINGERPRINT,
+                objectMapper.writeValueAsString(response("remote"))));
+        Assertions.assertEquals("remote", ((UseBalance.Response)
+                waiting.get(5, TimeUnit.SECONDS)).getTransactionId());
+
+        redissonClient.getBucket(IdempotencyStore.redisKey("use", scope, "stuck"),
+                StringCodec.INSTANCE).set(IdempotencyStore.inProgress(FINGERPRINT));
+        CompletionException exception = Assertions.assertThrows(
+                CompletionException.class, () -> execute("stuck",
+                        () -> CompletableFuture.completedFuture(
+                                response("local"))).join());
+        Assertions.assertEquals(ErrorCode.IDEMPOTENT_REQUEST_IN_PROGRESS,
+                ((AccountException) exception.getCause()).getErrorCode());
+    }
+
+    @Test
+    @DisplayName("같은 키로 다른 요청 본문 - 처리하지 않고 거절, 다른 사용자의 같은 키는 별개")
+    void differentRequestWithSameKeyRejected() {
+        execute("reused-key",
+                () -> CompletableFuture.completedFuture(response("tx-4"))).join();
+
+        CompletionException exception = Assertions.assertThrows(
+                CompletionException.class, () -> idempotencyStore.execute("use",
+                        scope, "reused-key", "other-fingerprint", responseType(),
+                        () -> CompletableFuture.completedFuture(
+                                response("tx-5"))).join());
+        Assertions.assertEquals(ErrorCode.IDEMPOTENCY_KEY_REUSED,
+                ((AccountException) exception.getCause()).getErrorCode());
+
+        Object otherUser = idempotencyStore.execute("use", otherScope, "reused-key",
+                "other-fingerprint", responseType(),
+                () -> CompletableFuture.completedFuture(response("tx-6"))).join();
+        Assertions.assertEquals("tx-6",
+                ((UseBalance.Response) otherUser).getTransactionId());
+    }
+
+    @Test
+    @DisplayName("처리가 IN_PROGRESS 만료 시간보다 길어도 처리 중 표시 유지")
+    void inProgressRenewedWhileRunning() throws Exception {
+        CompletableFuture<Object> slow = new CompletableFuture<>();
+        CompletableFuture<Object> running = execute("slow-key", () -> slow);
+
+        Thread.sleep(2_500);
+        Assertions.assertEquals(IdempotencyStore.inProgress(FINGERPRINT),
+                redissonClient.getBucket(IdempotencyStore.redisKey("use", scope,
+                        "slow-key"), StringCodec.INSTANCE).get());
+
+        slow.complete(response("tx-7"));
+        Assertions.assertEquals("tx-7", ((UseBalance.Response)
+                running.get(5, TimeUnit.SECONDS)).getTransactionId());
+        Assertions.assertTrue(redissonClient.getBucket(IdempotencyStore.redisKey(
+                "use", scope, "slow-key")).remainTimeToLive() > 60_000L);
+    }
+
+    private CompletableFuture<Object> execute(
+            String key,
+            Supplier<CompletableFuture<Object>> action) {
+        return idempotencyStore.execute("use", scope, key, FINGERPRINT,
+                responseType(), action);
+    }
+
+    private JavaType responseType() {
+        return objectMapper.constructType(UseBalance.Response.class);
+    }
+
+    private static UseBalance.Response response(String transactionId) {
+        return UseBalance.Response.builder()
+                .accountNumber("1000000000")
+                .transactionResult(TransactionResultType.S)
+                .transactionId(transactionId)
+                .amount(1000L)
+                .transactedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS))
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.account.service;
+
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * local(striped) lock 으로 같은 이체 부하
+ * stripe 를 적게 두어 서로 다른 계좌가 같은 stripe 를 공유하는 경우를 만든다.
+ */
+@TestPropertySource(properties = {
+        "account.lock.provider=local",
+        "account.lock.stripes=8"
+})
+@DirtiesContext
+class LocalLockTransferStressTest extends TransferStressTest {
+}
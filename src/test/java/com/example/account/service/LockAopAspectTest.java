@@ -0,0 +1,114 @@
+package com.example.account.service;
+
+import com.example.account.aop.AccountLock;
+import com.example.account.aop.AccountLockIdInterface;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ConcurrencyMode;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+class LockAopAspectTest {
+    private static final String ACCOUNT_NUMBER = "1000000000";
+
+    private LockTarget target;
+
+    @BeforeEach
+    void setUp() {
+        LockAopAspect aspect = new LockAopAspect(
+                new LockService(new StripedAccountLockProvider(16),
+                        new SimpleMeterRegistry()),
+                new ConcurrencyModeResolver(ConcurrencyMode.LOCK,
+                        ConcurrencyMode.LOCK, List.of()),
+                new MockEnvironment(),
+                Mockito.mock(AccountMailboxes.class));
+        AspectJProxyFactory factory = new AspectJProxyFactory(new LockTarget());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        target = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("async 경로 - 반환 future 가 끝날 때까지 lock 유지, 끝나면 해제")
+    void asyncHoldsLockUntilFutureCompletes() {
+        //given
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> firstResult = target.use(new LockRequest(first));
+
+        //when
+        CompletableFuture<String> rejected = target.use(
+                new LockRequest(CompletableFuture.completedFuture("second")));
+
+        //then
+        assertLockRejected(rejected);
+        // 실패한 요청이 앞 요청의 lock 을 풀지 않는다
+        assertLockRejected(target.use(
+                new LockRequest(CompletableFuture.completedFuture("third"))));
+
+        first.complete("first");
+        Assertions.assertEquals("first", firstResult.join());
+        Assertions.assertEquals("fourth", target.use(new LockRequest(
+                CompletableFuture.completedFuture("fourth"))).join());
+    }
+
+    @Test
+    @DisplayName("async 경로 - 실패로 끝나도 lock 해제, 원래 예외 전달")
+    void asyncReleasesLockOnFailure() {
+        //given
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> firstResult = target.use(new LockRequest(first));
+
+        //when
+        first.completeExceptionally(
+                new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE));
+
+        //then
+        CompletionException exception = Assertions.assertThrows(
+                CompletionException.class, firstResult::join);
+        Assertions.assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE,
+                ((AccountException) exception.getCause()).getErrorCode());
+        Assertions.assertEquals("second", target.use(new LockRequest(
+                CompletableFuture.completedFuture("second"))).join());
+    }
+
+    private void assertLockRejected(CompletableFuture<String> future) {
+        CompletionException exception = Assertions.assertThrows(
+                CompletionException.class, future::join);
+        Assertions.assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK,
+                ((AccountException) exception.getCause()).getErrorCode());
+    }
+
+    static class LockTarget {
+        @AccountLock(tryLockTime = 50L, endpoint = ConcurrencyModeResolver.USE)
+        public CompletableFuture<String> use(LockRequest request) {
+            return request.getResult();
+        }
+    }
+
+    static class LockRequest implements AccountLockIdInterface {
+        private final CompletableFuture<String> result;
+
+        LockRequest(CompletableFuture<String> result) {
+            this.result = result;
+        }
+
+        CompletableFuture<String> getResult() {
+            return result;
+        }
+
+        @Override
+        public String getAccountNumber() {
+            return ACCOUNT_NUMBER;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.account.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import redis.embedded.RedisServer;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * /transaction/use 의 lock 구간(@AccountLock advice) 지연시간 비교
+ * 컨트롤러의 고정 sleep 대신 lock 획득/해제 비용만 측정한다.
+ * ./gradlew benchmark 로 실행
+ */
+@Slf4j
+@Tag("benchmark")
+class LockProviderBenchmarkTest {
+    private static final int REDIS_PORT = 6391;
+    private static final int THREADS = 32;
+    private static final int ACCOUNTS = 100;
+    private static final int OPERATIONS = 20_000;
+
+    private static RedisServer redisServer;
+    private static RedissonClient redissonClient;
+
+    @BeforeAll
+    static void startRedis() {
+        redisServer = RedisServer.builder()
+                .port(REDIS_PORT)
+                .setting("maxmemory 128M")
+                .build();
+        redisServer.start();
+
+        Config config = new Config();
+        config.useSingleServer().setAddress("redis://127.0.0.1:" + REDIS_PORT);
+        redissonClient = Redisson.create(config);
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redissonClient.shutdown();
+        redisServer.stop();
+    }
+
+    @Test
+    void compareLockProviders() throws InterruptedException {
+        run("local", new LockService(new StripedAccountLockProvider(1024),
+                new SimpleMeterRegistry()));
+        run("redis", new LockService(
+                new RedissonAccountLockProvider(redissonClient),
+                new SimpleMeterRegistry()));
+    }
+
+    private void run(String name, LockService lockService)
+            throws InterruptedException {
+        long[] latencies = new long[OPERATIONS];
+        AtomicInteger index = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long started = System.nanoTime();
+        for (int i = 0; i < THREADS; i++) {
+            executor.execute(() -> {
+                int current;
+                while ((current = index.getAndIncrement()) < OPERATIONS) {
+                    String accountNumber = String.valueOf(1_000_000_000L +
+                            ThreadLocalRandom.current().nextInt(ACCOUNTS));
+                    long start = System.nanoTime();
+                    Long ownerId = lockService.lock(accountNumber);
+                    try {
+                        // 잔액 사용 로직 자리
+                    } finally {
+                        lockService.unLock(accountNumber, ownerId);
+                    }
+                    latencies[current] = System.nanoTime() - start;
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - started;
+
+        Arrays.sort(latencies);
+        log.info("[{}] ops={} throughput={}/s p50={}us p99={}us", name,
+                OPERATIONS, OPERATIONS * 1_000_000_000L / elapsed,
+                latencies[OPERATIONS / 2] / 1_000,
+                latencies[OPERATIONS * 99 / 100] / 1_000);
+    }
+}
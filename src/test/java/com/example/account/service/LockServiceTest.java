@@ -0,0 +1,144 @@
+package com.example.account.service;
+
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class LockServiceTest {
+    @Mock
+    private AccountLockProvider accountLockProvider;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LockService lockService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lockService = new LockService(accountLockProvider, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("lock 획득/해제 - 대기/보유 시간 기록")
+    void lockRecordsWaitAndHold() throws InterruptedException {
+        //given
+        given(accountLockProvider.tryLock(anyString(), anyLong(), anyLong(),
+                any(TimeUnit.class))).willReturn(true);
+
+        //when
+        Long ownerId = lockService.lock("1000000000");
+        lockService.unLock("1000000000", ownerId);
+
+        //then
+        Assertions.assertEquals(1, meterRegistry.get("account.lock.wait")
+                .tag("result", "acquired").timer().count());
+        Assertions.assertEquals(1, meterRegistry.get("account.lock.hold")
+                .timer().count());
+    }
+
+    @Test
+    @DisplayName("lock 획득 실패 - 실패 횟수 기록")
+    void lockFailureCounted() throws InterruptedException {
+        //given
+        given(accountLockProvider.tryLock(anyString(), anyLong(), anyLong(),
+                any(TimeUnit.class))).willReturn(false);
+
+        //when
+        AccountException exception = Assertions.assertThrows(
+                AccountException.class, () -> lockService.lock("1000000000"));
+
+        //then
+        Assertions.assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK,
+                exception.getErrorCode());
+        Assertions.assertEquals(1, meterRegistry.get("account.lock.wait")
+                .tag("result", "rejected").timer().count());
+        Assertions.assertEquals(1.0, meterRegistry.get(
+                "account.lock.acquire.failures").counter().count());
+    }
+
+    @Test
+    @DisplayName("대기/자동 해제 시간 전달 - fail-fast, watchdog")
+    void lockPassesWaitAndLease() throws InterruptedException {
+        //given
+        given(accountLockProvider.tryLock(anyString(), anyLong(), anyLong(),
+                any(TimeUnit.class))).willReturn(true);
+
+        //when
+        lockService.lock("1000000000", 0L, -1L);
+
+        //then
+        verify(accountLockProvider).tryLock("1000000000", 0L, -1L,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    @DisplayName("Redis 오류 - lock 없이 진행, unLock 은 아무것도 풀지 않음")
+    void redisErrorProceedsWithoutReleasing() throws InterruptedException {
+        //given
+        given(accountLockProvider.tryLock(anyString(), anyLong(), anyLong(),
+                any(TimeUnit.class))).willThrow(new IllegalStateException("redis down"));
+
+        //when
+        Long ownerId = lockService.lock("1000000000");
+        lockService.unLock("1000000000", ownerId);
+
+        //then
+        Assertions.assertNull(ownerId);
+        verify(accountLockProvider, never()).unlock(anyString());
+        Assertions.assertEquals(1.0, meterRegistry.get(
+                "account.lock.redis.errors").counter().count());
+    }
+
+    @Test
+    @DisplayName("대기 중 인터럽트 - lock 없이 진행하지 않고 실패")
+    void interruptFailsClosed() throws InterruptedException {
+        //given
+        given(accountLockProvider.tryLock(anyString(), anyLong(), anyLong(),
+                any(TimeUnit.class))).willThrow(new InterruptedException());
+
+        //when
+        AccountException exception = Assertions.assertThrows(
+                AccountException.class, () -> lockService.lock("1000000000"));
+
+        //then
+        Assertions.assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK,
+                exception.getErrorCode());
+        Assertions.assertTrue(Thread.interrupted());
+    }
+
+    @Test
+    @DisplayName("여러 계좌 lock - 같은 stripe 의 계좌는 한 번만 잡음")
+    void lockAllSkipsSameStripe() {
+        //given
+        LockService striped = new LockService(
+                new StripedAccountLockProvider(1), meterRegistry);
+
+        //when
+        List<LockService.HeldLock> locked = striped.lockAll(
+                List.of("1000000001", "1000000000"), 0L, -1L);
+
+        //then
+        Assertions.assertEquals(1, locked.size());
+        Assertions.assertThrows(AccountException.class,
+                () -> striped.lockAll(List.of("1000000002"), 0L, -1L));
+        striped.unLockAll(locked);
+        striped.unLockAll(striped.lockAll(List.of("1000000002"), 0L, -1L));
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.account.service;
+
+import com.example.account.IntegrationTest;
+import com.example.account.domain.Account;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * OPTIMISTIC 모드를 실제 DB(@Version)로 동시에 실행해 갱신 손실이 없는지 확인
+ * 재시도/backoff 규칙은 OptimisticTransactionServiceTest 에서 본다.
+ */
+class OptimisticConcurrencyTest extends IntegrationTest {
+    private static final long INITIAL_BALANCE = 1_000_000L;
+    private static final long AMOUNT = 100L;
+
+    @Autowired
+    private OptimisticTransactionService optimisticTransactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    @DisplayName("동시 잔액 사용 - 갱신 손실 없음")
+    void concurrentUseBalanceHasNoLostUpdate() throws InterruptedException {
+        Long userId = createUser();
+        String accountNumber = accountService.createAccount(userId, INITIAL_BALANCE)
+                .getAccountNumber();
+
+        int threads = 16;
+        int perThread = 50;
+        AtomicInteger succeeded = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < perThread; j++) {
+                        try {
+                            optimisticTransactionService.useBalance(userId,
+                                    accountNumber, AMOUNT);
+                            succeeded.incrementAndGet();
+                        } catch (AccountException e) {
+                            // 재시도 초과 - 잔액에 반영되지 않아야 함
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow();
+        long balance = account.getBalance();
+        // account 는 LAZY - 트랜잭션 밖에서는 id 로만 비교
+        long successTransactions = transactionRepository.findAll().stream()
+                .filter(t -> t.getAccount().getId().equals(account.getId()))
+                .filter(t -> t.getTransactionType() == TransactionType.USE)
+                .filter(t -> t.getTransactionResult() == TransactionResultType.S)
+                .count();
+
+        Assertions.assertTrue(succeeded.get() > 0);
+        Assertions.assertEquals(INITIAL_BALANCE - AMOUNT * succeeded.get(), balance);
+        Assertions.assertEquals(succeeded.get(), successTransactions);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ErrorCode;
+import jakarta.persistence.OptimisticLockException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OptimisticTransactionServiceTest {
+    private static final String ACCOUNT_NUMBER = "1000000000";
+
+    @Mock
+    private TransactionService transactionService;
+
+    private OptimisticTransactionService optimisticTransactionService;
+
+    @BeforeEach
+    void setUp() {
+        // backoff 없이 (0ms) 최대 3번
+        optimisticTransactionService = new OptimisticTransactionService(
+                transactionService, 3, 0L, 0L);
+    }
+
+    @Test
+    @DisplayName("version 충돌이면 새로 재시도")
+    void retriesOnVersionConflict() {
+        //given
+        TransactionDto used = TransactionDto.builder()
+                .accountNumber(ACCOUNT_NUMBER)
+                .transactionId("tx-1")
+                .build();
+        given(transactionService.useBalance(1L, ACCOUNT_NUMBER, 100L))
+                .willThrow(new ObjectOptimisticLockingFailureException(
+                        "Account", 1L))
+                .willThrow(new OptimisticLockException())
+                .willReturn(used);
+
+        //when
+        TransactionDto result = optimisticTransactionService.useBalance(1L,
+                ACCOUNT_NUMBER, 100L);
+
+        //then
+        Assertions.assertEquals("tx-1", result.getTransactionId());
+        verify(transactionService, times(3)).useBalance(1L, ACCOUNT_NUMBER, 100L);
+    }
+
+    @Test
+    @DisplayName("재시도 횟수를 넘으면 ACCOUNT_TRANSACTION_LOCK")
+    void failsAfterMaxAttempts() {
+        //given
+        given(transactionService.cancelBalance("tx-1", ACCOUNT_NUMBER, 100L))
+                .willThrow(new ObjectOptimisticLockingFailureException(
+                        "Account", 1L));
+
+        //when
+        AccountException exception = Assertions.assertThrows(
+                AccountException.class, () -> optimisticTransactionService
+                        .cancelBalance("tx-1", ACCOUNT_NUMBER, 100L));
+
+        //then
+        Assertions.assertEquals(ErrorCode.ACCOUNT_TRANSACTION_LOCK,
+                exception.getErrorCode());
+        verify(transactionService, times(3))
+                .cancelBalance("tx-1", ACCOUNT_NUMBER, 100L);
+    }
+
+    @Test
+    @DisplayName("검증 실패는 재시도하지 않음")
+    void doesNotRetryValidationFailure() {
+        //given
+        given(transactionService.useBalance(1L, ACCOUNT_NUMBER, 100L))
+                .willThrow(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE));
+
+        //when
+        AccountException exception = Assertions.assertThrows(
+                AccountException.class, () -> optimisticTransactionService
+                        .useBalance(1L, ACCOUNT_NUMBER, 100L));
+
+        //then
+        Assertions.assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE,
+                exception.getErrorCode());
+        verify(transactionService, times(1)).useBalance(1L, ACCOUNT_NUMBER, 100L);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.account.service;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 테스트 스레드에서 실행된 SQL 기록
+ * hibernate.session_factory.statement_inspector 로 등록한다.
+ * 스케줄러 등 다른 스레드의 SQL 과 id 채번(sequence) 은 세지 않는다.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+    private static volatile Thread recordingThread;
+
+    public static void start() {
+        statements.clear();
+        recordingThread = Thread.currentThread();
+    }
+
+    public static List<String> stop() {
+        recordingThread = null;
+        return List.copyOf(statements);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (Thread.currentThread() == recordingThread &&
+                !sql.contains("next value for")) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.account.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+class StripedAccountLockProviderTest {
+    private final StripedAccountLockProvider provider =
+            new StripedAccountLockProvider(16);
+
+    @Test
+    @DisplayName("async lock - 대기자는 스레드 없이 기다렸다가 해제 시 넘겨받음")
+    void asyncLockHandsOverOnUnlock() {
+        Assertions.assertTrue(provider.tryLockAsync("1000000000", 1,
+                -1, TimeUnit.SECONDS, -1L).join());
+
+        CompletableFuture<Boolean> waiter = provider.tryLockAsync(
+                "1000000000", 5, -1, TimeUnit.SECONDS, -2L);
+        Assertions.assertFalse(waiter.isDone());
+
+        provider.unlockAsync("1000000000", -1L).join();
+        Assertions.assertTrue(waiter.join());
+        provider.unlockAsync("1000000000", -2L).join();
+    }
+
+    @Test
+    @DisplayName("대기 시간 초과 / fail-fast - 실패 후 lock 상태 유지")
+    void waitTimeoutAndFailFast() throws InterruptedException {
+        Assertions.assertTrue(provider.tryLock("1000000001", 0, -1,
+                TimeUnit.MILLISECONDS));
+
+        Assertions.assertFalse(provider.tryLockAsync("1000000001", 50, -1,
+                TimeUnit.MILLISECONDS, -1L).join());
+        Assertions.assertFalse(provider.tryLock("1000000001", 0, -1,
+                TimeUnit.MILLISECONDS));
+
+        provider.unlock("1000000001");
+        Assertions.assertTrue(provider.tryLock("1000000001", 0, -1,
+                TimeUnit.MILLISECONDS));
+        provider.unlock("1000000001");
+    }
+
+    @Test
+    @DisplayName("소유자가 아닌 해제 - 거부하고 lock 유지")
+    void releaseByNonOwnerRejected() throws InterruptedException {
+        Assertions.assertTrue(provider.tryLockAsync("1000000002", 0, -1,
+                TimeUnit.MILLISECONDS, -1L).join());
+
+        Assertions.assertThrows(IllegalMonitorStateException.class,
+                () -> provider.unlock("1000000002"));
+        Assertions.assertTrue(provider.unlockAsync("1000000002", -2L)
+                .isCompletedExceptionally());
+        Assertions.assertFalse(provider.tryLock("1000000002", 0, -1,
+                TimeUnit.MILLISECONDS));
+
+        provider.unlockAsync("1000000002", -1L).join();
+        Assertions.assertTrue(provider.tryLock("1000000002", 0, -1,
+                TimeUnit.MILLISECONDS));
+        provider.unlock("1000000002");
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.dto.UseBalance;
+import com.example.account.exception.AccountException;
+import com.example.account.type.ConcurrencyMode;
+import com.example.account.type.ErrorCode;
+import com.example.account.type.TransactionResultType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionBatchServiceTest {
+    private static final String ACCOUNT_A = "1000000000";
+    private static final String ACCOUNT_B = "1000000001";
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private HotAccountLedger hotAccountLedger;
+
+    @Mock
+    private LockService lockService;
+
+    @Mock
+    private ConcurrencyModeResolver concurrencyModeResolver;
+
+    @Mock
+    private AccountMailboxes accountMailboxes;
+
+    @Mock
+    private FailedTransactionRecorder failedTransactionRecorder;
+
+    @InjectMocks
+    private TransactionBatchService transactionBatchService;
+
+    @Test
+    @DisplayName("계좌별로 묶어 lock 한 번씩, 결과는 요청 순서대로")
+    void groupsByAccountAndKeepsOrder() {
+        //given
+        List<UseBalance.Request> requests = List.of(
+                new UseBalance.Request(1L, ACCOUNT_A, 100L),
+                new UseBalance.Request(1L, ACCOUNT_B, 200L),
+                new UseBalance.Request(1L, ACCOUNT_A, 300L));
+        given(concurrencyModeResolver.modeOf(eq(ConcurrencyModeResolver.USE),
+                anyString())).willReturn(ConcurrencyMode.LOCK);
+        given(lockService.lock(anyString())).willReturn(1L);
+        given(transactionService.useBalanceGroup(eq(ACCOUNT_A), anyList()))
+                .willAnswer(invocation -> succeeded(invocation.getArgument(1)));
+        given(transactionService.useBalanceGroup(eq(ACCOUNT_B), anyList()))
+                .willAnswer(invocation -> succeeded(invocation.getArgument(1)));
+
+        //when
+        List<TransactionDto> results = transactionBatchService
+                .useBalanceBatch(requests);
+
+        //then
+        verify(lockService).lock(ACCOUNT_A);
+        verify(lockService).lock(ACCOUNT_B);
+        verify(lockService).unLock(ACCOUNT_A, 1L);
+        verify(lockService).unLock(ACCOUNT_B, 1L);
+        Assertions.assertEquals(List.of(100L, 200L, 300L), results.stream()
+                .map(TransactionDto::getAmount).collect(Collectors.toList()));
+        Assertions.assertEquals(List.of(ACCOUNT_A, ACCOUNT_B, ACCOUNT_A),
+                results.stream().map(TransactionDto::getAccountNumber)
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("한 묶음 실패 - 그 묶음만 F 거래로 남기고 나머지는 처리")
+    void partialFailureRecordsFailedRows() {
+        //given
+        List<UseBalance.Request> requests = List.of(
+                new UseBalance.Request(1L, ACCOUNT_A, 100L),
+                new UseBalance.Request(1L, ACCOUNT_B, 200L));
+        given(concurrencyModeResolver.modeOf(eq(ConcurrencyModeResolver.USE),
+                anyString())).willReturn(ConcurrencyMode.LOCK);
+        given(lockService.lock(anyString())).willReturn(1L);
+        given(transactionService.useBalanceGroup(eq(ACCOUNT_A), anyList()))
+                .willThrow(new AccountException(ErrorCode.ACCOUNT_NOT_FOUND));
+        given(transactionService.useBalanceGroup(eq(ACCOUNT_B), anyList()))
+                .willAnswer(invocation -> succeeded(invocation.getArgument(1)));
+        given(transactionService.saveFailedUseTransactions(eq(ACCOUNT_A), anyList()))
+                .willAnswer(invocation -> failed(invocation.getArgument(1)));
+
+        //when
+        List<TransactionDto> results = transactionBatchService
+                .useBalanceBatch(requests);
+
+        //then
+        Assertions.assertEquals(TransactionResultType.F,
+                results.get(0).getTransactionResult());
+        Assertions.assertNotNull(results.get(0).getTransactionId());
+        Assertions.assertEquals(TransactionResultType.S,
+                results.get(1).getTransactionResult());
+        verify(lockService).unLock(ACCOUNT_A, 1L);
+    }
+
+    @Test
+    @DisplayName("lock 실패 - 처리하지 않고 F 거래로 남김, 해제하지 않음")
+    void lockFailureRecordsFailedRows() {
+        //given
+        List<UseBalance.Request> requests = List.of(
+                new UseBalance.Request(1L, ACCOUNT_A, 100L),
+                new UseBalance.Request(1L, ACCOUNT_A, 200L));
+        given(concurrencyModeResolver.modeOf(ConcurrencyModeResolver.USE,
+                ACCOUNT_A)).willReturn(ConcurrencyMode.LOCK);
+        given(lockService.lock(ACCOUNT_A))
+                .willThrow(new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK));
+        given(transactionService.saveFailedUseTransactions(eq(ACCOUNT_A), anyList()))
+                .willAnswer(invocation -> failed(invocation.getArgument(1)));
+
+        //when
+        List<TransactionDto> results = transactionBatchService
+                .useBalanceBatch(requests);
+
+        //then
+        verify(transactionService, never()).useBalanceGroup(anyString(), anyList());
+        verify(lockService, never()).unLock(anyString(), eq(1L));
+        Assertions.assertEquals(2, results.size());
+        results.forEach(result -> {
+            Assertions.assertEquals(TransactionResultType.F,
+                    result.getTransactionResult());
+            Assertions.assertNotNull(result.getTransactionId());
+        });
+    }
+
+    private static List<TransactionDto> succeeded(List<UseBalance.Request> group) {
+        return toDtos(group, TransactionResultType.S);
+    }
+
+    private static List<TransactionDto> failed(List<UseBalance.Request> group) {
+        return toDtos(group, TransactionResultType.F);
+    }
+
+    private static List<TransactionDto> toDtos(List<UseBalance.Request> group,
+                                               TransactionResultType result) {
+        return group.stream()
+                .map(request -> TransactionDto.builder()
+                        .accountNumber(request.getAccountNumber())
+                        .transactionResult(result)
+                        .transactionId("tx-" + request.getAmount())
+                        .amount(request.getAmount())
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.account.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+/**
+ * 수백만 건 내보내기 (파일 H2, heap 128m)
+ * ./gradlew largeTest 로 실행
+ */
+@Slf4j
+@Tag("large")
+@SpringBootTest(properties = {
+        "spring.data.redis.port=6397",
+        "spring.datasource.url=jdbc:h2:file:./build/h2/transaction-export",
+        "spring.jpa.properties.hibernate.show_sql=false"
+})
+@DirtiesContext
+class TransactionExportLargeTest {
+    private static final int ROWS = 3_000_000;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("거래 300만 건을 작은 heap 으로 NDJSON 내보내기")
+    void exportMillionsOfRows() throws Exception {
+        String accountNumber = accountService.createAccount(1L, 0L)
+                .getAccountNumber();
+        Long accountId = jdbcTemplate.queryForObject(
+                "select id from account where account_number = ?",
+                Long.class, accountNumber);
+        jdbcTemplate.update("insert into transaction(id, transaction_type, " +
+                "transaction_result, account_id, transaction_id, amount, " +
+                "balance_snapshot, transacted_at, created_at, updated_at) " +
+                "select x, 'USE', 'S', ?, 'export' || x, 100, 0, " +
+                "dateadd('SECOND', x, timestamp '2024-01-01 00:00:00'), " +
+                "now(), now() from system_range(1, ?)", accountId, ROWS);
+
+        CountingOutputStream plain = new CountingOutputStream();
+        long exported = transactionExportService.export(
+                LocalDateTime.of(2024, 1, 1, 0, 0),
+                LocalDateTime.of(2030, 1, 1, 0, 0), false, plain);
+        Assertions.assertEquals(ROWS, exported);
+        Assertions.assertEquals(ROWS, plain.lines);
+
+        CountingOutputStream gzip = new CountingOutputStream();
+        Assertions.assertEquals(ROWS, transactionExportService.export(
+                LocalDateTime.of(2024, 1, 1, 0, 0),
+                LocalDateTime.of(2030, 1, 1, 0, 0), true, gzip));
+
+        log.info("ndjson={}MB gzip={}MB maxHeap={}MB", plain.bytes >> 20,
+                gzip.bytes >> 20, Runtime.getRuntime().maxMemory() >> 20);
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long bytes;
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.account.service;
+
+import com.example.account.IntegrationTest;
+import com.example.account.dto.TransactionHistory;
+import com.example.account.dto.TransactionSummary;
+import com.example.account.type.TransactionType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class TransactionHistoryTest extends IntegrationTest {
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Test
+    @DisplayName("거래 내역 keyset 페이지 - 최신순, 중복/누락 없음, 필터")
+    void getTransactionHistory() {
+        Long userId = createUser();
+        String accountNumber = accountService.createAccount(userId, 10_000L)
+                .getAccountNumber();
+        List<String> used = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            used.add(transactionService.useBalanceAtomic(userId, accountNumber, 100L)
+                    .getTransactionId());
+        }
+        transactionService.cancelBalanceAtomic(used.get(0), accountNumber, 100L);
+
+        List<TransactionSummary> all = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TransactionHistory.Response page = transactionService
+                    .getTransactionHistory(accountNumber, null, null, null,
+                            null, cursor, 2);
+            all.addAll(page.getTransactions());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        Assertions.assertEquals(3, pages);
+        Assertions.assertEquals(6, all.size());
+        Assertions.assertEquals(TransactionType.CANCEL,
+                all.get(0).getTransactionType());
+        Assertions.assertEquals(used.get(0), all.get(5).getTransactionId());
+
+        TransactionHistory.Response useOnly = transactionService
+                .getTransactionHistory(accountNumber, TransactionType.USE,
+                        null, null, null, null, 20);
+        Assertions.assertEquals(5, useOnly.getTransactions().size());
+        Assertions.assertNull(useOnly.getNextCursor());
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.account.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+class TransactionIdGeneratorTest {
+    @Test
+    @DisplayName("UUID 거래 ID - 기존과 같은 32자 hex")
+    void uuidFormat() {
+        String id = new UuidTransactionIdGenerator().generate();
+
+        Assertions.assertEquals(32, id.length());
+        Assertions.assertTrue(id.matches("[0-9a-f]{32}"));
+    }
+
+    @Test
+    @DisplayName("snowflake 거래 ID - 단조 증가")
+    void snowflakeIsMonotonic() {
+        SnowflakeTransactionIdGenerator generator =
+                new SnowflakeTransactionIdGenerator(7);
+
+        String previous = generator.generate();
+        for (int i = 0; i < 100_000; i++) {
+            String current = generator.generate();
+            Assertions.assertTrue(current.compareTo(previous) > 0);
+            previous = current;
+        }
+    }
+
+    @Test
+    @DisplayName("snowflake 거래 ID - 동시 생성 시 중복 없음")
+    void snowflakeIsUniqueUnderContention() throws InterruptedException {
+        SnowflakeTransactionIdGenerator generator =
+                new SnowflakeTransactionIdGenerator(7);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 50_000; j++) {
+                    ids.add(generator.generate());
+                }
+            });
+        }
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(400_000, ids.size());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.account.service;
+
+import com.example.account.dto.TransactionDto;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+class TransactionResultCacheTest {
+    private final TransactionResultCache transactionResultCache =
+            new TransactionResultCache(new SimpleMeterRegistry(), 100);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("miss 후 put - hit, 꺼낸 값을 바꿔도 캐시 값은 그대로")
+    void hitReturnsCopy() {
+        Assertions.assertTrue(transactionResultCache.get("tx-1").isEmpty());
+
+        TransactionDto transactionDto = transaction("tx-1");
+        transactionResultCache.put(transactionDto);
+        transactionDto.setAmount(1L);
+
+        TransactionDto cached = transactionResultCache.get("tx-1").orElseThrow();
+        Assertions.assertEquals(1_000L, cached.getAmount());
+        cached.setTransactionResult(TransactionResultType.F);
+        Assertions.assertEquals(TransactionResultType.S, transactionResultCache
+                .get("tx-1").orElseThrow().getTransactionResult());
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서 put - 커밋 후에만 조회, 롤백이면 넣지 않음")
+    void populatedAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        transactionResultCache.put(transaction("tx-2"));
+        Assertions.assertTrue(transactionResultCache.get("tx-2").isEmpty());
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        Assertions.assertTrue(transactionResultCache.get("tx-2").isPresent());
+
+        TransactionSynchronizationManager.initSynchronization();
+        transactionResultCache.put(transaction("tx-3"));
+        TransactionSynchronizationManager.getSynchronizations().forEach(
+                synchronization -> synchronization.afterCompletion(
+                        TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+        Assertions.assertTrue(transactionResultCache.get("tx-3").isEmpty());
+    }
+
+    private static TransactionDto transaction(String transactionId) {
+        return TransactionDto.builder()
+                .accountNumber("1000000000")
+                .transactionType(TransactionType.USE)
+                .transactionResult(TransactionResultType.S)
+                .transactionId(transactionId)
+                .amount(1_000L)
+                .balanceSnapshot(9_000L)
+                .transactedAt(LocalDateTime.now())
+                .build();
+    }
+}
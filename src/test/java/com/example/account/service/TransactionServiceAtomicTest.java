@@ -0,0 +1,62 @@
+package com.example.account.service;
+
+import com.example.account.IntegrationTest;
+import com.example.account.dto.TransactionDto;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.type.ErrorCode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class TransactionServiceAtomicTest extends IntegrationTest {
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    @DisplayName("조건부 UPDATE 잔액 사용 후 취소")
+    void useAndCancelBalanceAtomic() {
+        Long userId = createUser();
+        String accountNumber = accountService.createAccount(userId, 1000L)
+                .getAccountNumber();
+
+        TransactionDto used = transactionService.useBalanceAtomic(userId,
+                accountNumber, 300L);
+        Assertions.assertEquals(700L, used.getBalanceSnapshot());
+
+        TransactionDto canceled = transactionService.cancelBalanceAtomic(
+                used.getTransactionId(), accountNumber, 300L);
+        Assertions.assertEquals(1000L, canceled.getBalanceSnapshot());
+        Assertions.assertEquals(1000L, accountRepository
+                .findByAccountNumber(accountNumber).orElseThrow().getBalance());
+    }
+
+    @Test
+    @DisplayName("조건부 UPDATE 실패 - 원인 확인")
+    void useBalanceAtomicFailureReason() {
+        Long userId = createUser();
+        Long otherUserId = createUser();
+        String accountNumber = accountService.createAccount(userId, 100L)
+                .getAccountNumber();
+
+        AccountException exceed = Assertions.assertThrows(AccountException.class,
+                () -> transactionService.useBalanceAtomic(userId, accountNumber, 200L));
+        AccountException unMatch = Assertions.assertThrows(AccountException.class,
+                () -> transactionService.useBalanceAtomic(otherUserId, accountNumber, 10L));
+        AccountException notFound = Assertions.assertThrows(AccountException.class,
+                () -> transactionService.useBalanceAtomic(userId, "9999999999", 10L));
+
+        Assertions.assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exceed.getErrorCode());
+        Assertions.assertEquals(ErrorCode.USER_ACCOUNT_UN_MATCH, unMatch.getErrorCode());
+        Assertions.assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, notFound.getErrorCode());
+        Assertions.assertEquals(100L, accountRepository
+                .findByAccountNumber(accountNumber).orElseThrow().getBalance());
+    }
+}
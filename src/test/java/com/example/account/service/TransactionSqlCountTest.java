@@ -0,0 +1,173 @@
+package com.example.account.service;
+
+import com.example.account.IntegrationTest;
+import com.example.account.domain.Account;
+import com.example.account.domain.Transaction;
+import com.example.account.dto.TransactionDto;
+import com.example.account.repository.AccountRepository;
+import com.example.account.repository.TransactionRepository;
+import com.example.account.type.TransactionResultType;
+import com.example.account.type.TransactionType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 거래 경로별 SQL 수 (sequence 채번 제외)
+ * LAZY 연관관계가 경로마다 추가 select 를 만들지 않는지 확인한다.
+ */
+class TransactionSqlCountTest extends IntegrationTest {
+    private static final long AMOUNT = 1_000L;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Long userId;
+    private String accountNumber;
+
+    @BeforeEach
+    void setUp() {
+        userId = createUser();
+        accountNumber = accountService.createAccount(userId, 1_000_000L)
+                .getAccountNumber();
+    }
+
+    @Test
+    @DisplayName("거래 조회 (캐시 miss) - DTO projection select 1번")
+    void queryTransaction() {
+        String transactionId = saveUseTransaction();
+
+        List<String> statements = statementsOf(() -> {
+            TransactionDto transactionDto =
+                    transactionService.queryTransaction(transactionId);
+            Assertions.assertEquals(accountNumber,
+                    transactionDto.getAccountNumber());
+        });
+
+        Assertions.assertEquals(1, statements.size(), statements::toString);
+        Assertions.assertFalse(statements.get(0).contains("account_user"));
+    }
+
+    @Test
+    @DisplayName("거래 조회 (캐시 hit) - SQL 없음")
+    void queryTransactionCacheHit() {
+        String transactionId = saveUseTransaction();
+        transactionService.queryTransaction(transactionId);
+
+        List<String> statements = statementsOf(() -> Assertions.assertEquals(
+                transactionId, transactionService.queryTransaction(transactionId)
+                        .getTransactionId()));
+
+        Assertions.assertEquals(0, statements.size(), statements::toString);
+    }
+
+    @Test
+    @DisplayName("잔액 사용 취소 - 거래/계좌 select, 거래 insert, 계좌 update")
+    void cancelBalance() {
+        String transactionId = saveUseTransaction();
+
+        List<String> statements = statementsOf(() -> transactionService
+                .cancelBalance(transactionId, accountNumber, AMOUNT));
+
+        Assertions.assertEquals(4, statements.size(), statements::toString);
+    }
+
+    @Test
+    @DisplayName("ATOMIC 잔액 사용 취소 - 거래+계좌 join select, update, select, insert")
+    void cancelBalanceAtomic() {
+        String transactionId = saveUseTransaction();
+
+        List<String> statements = statementsOf(() -> transactionService
+                .cancelBalanceAtomic(transactionId, accountNumber, AMOUNT));
+
+        Assertions.assertEquals(4, statements.size(), statements::toString);
+    }
+
+    @Test
+    @DisplayName("잔액 사용 (캐시 hit) - 계좌 select, 거래 insert, 계좌 update")
+    void useBalance() {
+        transactionService.useBalance(userId, accountNumber, AMOUNT);
+
+        List<String> statements = statementsOf(() ->
+                transactionService.useBalance(userId, accountNumber, AMOUNT));
+
+        Assertions.assertEquals(3, statements.size(), statements::toString);
+        Assertions.assertFalse(statements.get(0).contains("account_user"));
+    }
+
+    @Test
+    @DisplayName("거래 내역 (캐시 hit) - select 1번")
+    void getTransactionHistory() {
+        saveUseTransaction();
+        transactionService.getTransactionHistory(accountNumber, null, null,
+                null, null, null, 20);
+
+        List<String> statements = statementsOf(() -> transactionService
+                .getTransactionHistory(accountNumber, null, null, null, null,
+                        null, 20));
+
+        Assertions.assertEquals(1, statements.size(), statements::toString);
+    }
+
+    @Test
+    @DisplayName("계좌 조회 - DTO projection select 1번, 조건부 조회는 version 만")
+    void getAccount() {
+        Long id = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow().getId();
+
+        List<String> statements = statementsOf(() ->
+                Assertions.assertEquals(userId, accountService.getAccount(id)
+                        .getUserId()));
+
+        Assertions.assertEquals(1, statements.size(), statements::toString);
+        Assertions.assertFalse(statements.get(0).contains("account_user"));
+
+        statements = statementsOf(() -> accountService.getAccountVersion(id));
+
+        Assertions.assertEquals(1, statements.size(), statements::toString);
+    }
+
+    /**
+     * 거래 결과 캐시를 거치지 않도록 repository 로 바로 저장
+     */
+    private String saveUseTransaction() {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow();
+        return transactionRepository.save(Transaction.builder()
+                        .transactionType(TransactionType.USE)
+                        .transactionResult(TransactionResultType.S)
+                        .account(account)
+                        .amount(AMOUNT)
+                        .balanceSnapshot(account.getBalance())
+                        .transactionId(UUID.randomUUID().toString().replace("-", ""))
+                        .transactedAt(LocalDateTime.now())
+                        .build())
+                .getTransactionId();
+    }
+
+    private static List<String> statementsOf(Runnable action) {
+        List<String> statements;
+        SqlStatementCounter.start();
+        try {
+            action.run();
+        } finally {
+            statements = SqlStatementCounter.stop();
+        }
+        return statements;
+    }
+}
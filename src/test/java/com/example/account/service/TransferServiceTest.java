@@ -0,0 +1,79 @@
+package com.example.account.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransferServiceTest {
+    private static final String FROM = "1000000000";
+    private static final String TO = "1000000001";
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private LockService lockService;
+
+    @Mock
+    private ConcurrencyModeResolver concurrencyModeResolver;
+
+    private final MockEnvironment environment = new MockEnvironment();
+    private TransferService transferService;
+
+    @BeforeEach
+    void setUp() {
+        transferService = new TransferService(transactionService, lockService,
+                concurrencyModeResolver, environment);
+        given(lockService.lockAll(anyList(), anyLong(), anyLong()))
+                .willReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("설정이 없으면 기본 lock 대기/유지 시간")
+    void defaultLockTimes() {
+        //when
+        transferService.transfer(1L, FROM, TO, 1_000L);
+
+        //then
+        verify(lockService).lockAll(List.of(FROM, TO), 3000L, 15000L);
+    }
+
+    @Test
+    @DisplayName("account.lock.endpoint.transfer.* 설정을 따름")
+    void configuredLockTimes() {
+        //given
+        environment.setProperty("account.lock.endpoint.transfer.wait-ms", "500");
+        environment.setProperty("account.lock.endpoint.transfer.lease-ms", "-1");
+
+        //when
+        transferService.transfer(1L, FROM, TO, 1_000L);
+
+        //then
+        verify(lockService).lockAll(List.of(FROM, TO), 500L, -1L);
+    }
+
+    @Test
+    @DisplayName("fail-fast 면 기다리지 않음")
+    void failFastDoesNotWait() {
+        //given
+        environment.setProperty("account.lock.endpoint.transfer.fail-fast", "true");
+
+        //when
+        transferService.transfer(1L, FROM, TO, 1_000L);
+
+        //then
+        verify(lockService).lockAll(List.of(FROM, TO), 0L, 15000L);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.account.service;
+
+import com.example.account.IntegrationTest;
+import com.example.account.exception.AccountException;
+import com.example.account.repository.AccountRepository;
+import com.example.account.type.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 무작위 양방향 이체 - 교착 없음, 총액 보존
+ */
+@Slf4j
+class TransferStressTest extends IntegrationTest {
+    private static final int ACCOUNTS_PER_USER = 10;
+    private static final long INITIAL_BALANCE = 100_000L;
+    private static final int THREADS = 16;
+    private static final int TRANSFERS = 4_000;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    @DisplayName("동시 무작위 이체 - 교착 없이 끝나고 총액과 거래 쌍이 맞음")
+    void randomCrossTransfers() throws InterruptedException {
+        List<Long> users = List.of(createUser(), createUser());
+        List<Long> owners = new ArrayList<>();
+        List<String> accountNumbers = new ArrayList<>();
+        for (Long userId : users) {
+            for (int i = 0; i < ACCOUNTS_PER_USER; i++) {
+                owners.add(userId);
+                accountNumbers.add(accountService.createAccount(userId,
+                        INITIAL_BALANCE).getAccountNumber());
+            }
+        }
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger lockRejected = new AtomicInteger();
+        AtomicInteger otherFailures = new AtomicInteger();
+        AtomicInteger remaining = new AtomicInteger(TRANSFERS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long started = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            executor.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (remaining.getAndDecrement() > 0) {
+                    int from = random.nextInt(accountNumbers.size());
+                    int to = (from + 1 + random.nextInt(accountNumbers.size() - 1))
+                            % accountNumbers.size();
+                    try {
+                        transferService.transfer(owners.get(from),
+                                accountNumbers.get(from), accountNumbers.get(to),
+                                random.nextLong(10, 1_000));
+                        succeeded.incrementAndGet();
+                    } catch (AccountException e) {
+                        if (e.getErrorCode() == ErrorCode.ACCOUNT_TRANSACTION_LOCK) {
+                            lockRejected.incrementAndGet();
+                        } else {
+                            otherFailures.incrementAndGet();
+                        }
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES),
+                "transfers did not finish - possible deadlock");
+        long elapsed = System.nanoTime() - started;
+
+        log.info("transfers={} succeeded={} lockRejected={} otherFailures={} " +
+                        "throughput={}/s", TRANSFERS, succeeded.get(),
+                lockRejected.get(), otherFailures.get(),
+                TRANSFERS * 1_000_000_000L / elapsed);
+
+        // 컨텍스트를 같이 쓰는 다른 테스트의 데이터는 제외하고 이 테스트의 계좌만 본다
+        long total = accountNumbers.stream()
+                .mapToLong(accountNumber -> accountRepository
+                        .findByAccountNumber(accountNumber).orElseThrow()
+                        .getBalance())
+                .sum();
+        Assertions.assertEquals(INITIAL_BALANCE * accountNumbers.size(), total);
+
+        Assertions.assertEquals(succeeded.get(), jdbcTemplate.queryForObject(
+                "select count(*) from transaction t " +
+                        "join account a on t.account_id = a.id " +
+                        "where a.account_user_id in (?, ?) " +
+                        "and t.transaction_type = 'TRANSFER_OUT' " +
+                        "and t.transaction_result = 'S'", Integer.class,
+                users.get(0), users.get(1)));
+        Assertions.assertEquals(succeeded.get(), jdbcTemplate.queryForObject(
+                "select count(*) from transaction t " +
+                        "join account a on t.account_id = a.id " +
+                        "join transaction l " +
+                        "on t.linked_transaction_id = l.transaction_id " +
+                        "where a.account_user_id in (?, ?) " +
+                        "and t.transaction_type = 'TRANSFER_IN' " +
+                        "and l.transaction_type = 'TRANSFER_OUT' " +
+                        "and t.amount = l.amount", Integer.class,
+                users.get(0), users.get(1)));
+        Assertions.assertTrue(succeeded.get() > 0);
+        // 대기 시간 안에 모두 lock 을 잡아야 한다 (교착/자기 대기가 있으면 대기 시간 초과로 실패)
+        Assertions.assertEquals(0, lockRejected.get());
+    }
+}